@@ -0,0 +1,141 @@
+package benchmarks;
+
+import datastructures.Dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <strong>BenchmarkData</strong> - Seeded synthetic inputs shared by the
+ * benchmarks: value arrays in several orders, regression datasets shaped
+ * like the bike and wine tables, and CSV files of those datasets. The same
+ * seed always gives the same data, so runs can be compared.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class BenchmarkData {
+    public static final long SEED = 42;
+    public static final int NUM_FEATURES = 11; // As many as the wine tables have
+    public static final String TARGET = "quality";
+
+    /**
+     * The order of the values handed to a sort or median.
+     */
+    public enum Distribution {
+        /** Independent uniform values. */
+        RANDOM,
+        /** Ascending values. */
+        SORTED,
+        /** Descending values. */
+        REVERSED,
+        /** Only 16 distinct values, in random order. */
+        DUPLICATES
+    }
+
+    // Returns n values in the given order
+    public static double[] values(int n, Distribution distribution) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            switch (distribution) {
+                case SORTED:
+                    values[i] = i;
+                    break;
+                case REVERSED:
+                    values[i] = n - i;
+                    break;
+                case DUPLICATES:
+                    values[i] = random.nextInt(16);
+                    break;
+                default:
+                    values[i] = random.nextDouble();
+            }
+        }
+        return values;
+    }
+
+    // Returns the values boxed into a list, as DataUtils.calculateMedian builds them
+    public static List<Double> boxed(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    // Returns the names of the feature columns
+    public static List<String> featureNames() {
+        List<String> names = new ArrayList<>();
+        for (int j = 0; j < NUM_FEATURES; j++) {
+            names.add("f" + j);
+        }
+        return names;
+    }
+
+    // Returns a dataset of Gaussian features rounded to two decimals and an
+    //  integer target that depends linearly on them, like the wine quality
+    public static Dataset dataset(int numRows) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[][] columns = new double[NUM_FEATURES + 1][numRows];
+        for (int i = 0; i < numRows; i++) {
+            double y = 0;
+            for (int j = 0; j < NUM_FEATURES; j++) {
+                double x = Math.round(gaussian(random) * 1000) / 100.0;
+                columns[j][i] = x;
+                y += x * (j + 1);
+            }
+            columns[NUM_FEATURES][i] = Math.round(y / 10);
+        }
+        List<String> header = featureNames();
+        header.add(TARGET);
+        return new Dataset(header, columns, numRows);
+    }
+
+    // Returns the feature values of every row, row-major
+    public static double[][] rows(Dataset data) {
+        double[][] rows = new double[data.numRows()][NUM_FEATURES];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < NUM_FEATURES; j++) {
+                rows[i][j] = data.get(i, j);
+            }
+        }
+        return rows;
+    }
+
+    // Writes a dataset as a CSV file with a header row
+    public static Path writeCsv(Dataset data) throws IOException {
+        Path file = Files.createTempFile("benchmark", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(String.join(",", data.getHeader()));
+            out.newLine();
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < data.numRows(); i++) {
+                line.setLength(0);
+                for (int j = 0; j < data.numColumns(); j++) {
+                    if (j > 0) {
+                        line.append(',');
+                    }
+                    line.append(data.get(i, j));
+                }
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+        return file;
+    }
+
+    // Draws a standard normal value (Box-Muller)
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import datastructures.Dataset;
+import utility.CSVReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <strong>CsvBenchmark</strong> - Times reading a CSV file of 1e3 to 1e6
+ * rows (12 numeric columns) with <tt>CSVReader.readCSV</tt>, with
+ * <tt>Dataset.fromRecords</tt> of its records, and with
+ * <tt>readDatasetMapped</tt> (which <tt>readDataset</tt> uses) and
+ * <tt>readDatasetParallel</tt> on 1 to 8 threads. The file is written once
+ * per trial and deleted afterwards. Sizes stop at 1e6 because
+ * <tt>readCSV</tt> keeps every cell as a <tt>String</tt>; 1e7 rows would
+ * not fit in a 4 GB heap. Only <tt>readDatasetParallel</tt> takes a
+ * {@link PoolState}, so only it is run once per thread count.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private String path;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = BenchmarkData.writeCsv(BenchmarkData.dataset(rows));
+        path = file.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object readCSV() {
+        return CSVReader.readCSV(path);
+    }
+
+    @Benchmark
+    public Object fromRecords() {
+        return Dataset.fromRecords(CSVReader.readCSV(path));
+    }
+
+    @Benchmark
+    public Object readDatasetMapped() {
+        return CSVReader.readDatasetMapped(path);
+    }
+
+    @Benchmark
+    public Object readDatasetParallel(PoolState state) {
+        return CSVReader.readDatasetParallel(path, state.pool);
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <strong>PoolState</strong> - A fork-join pool of 1 to 8 threads for the
+ * benchmarks that run on a pool. Only benchmarks that take it as a
+ * parameter are run once per thread count; the others in the same class
+ * run once.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+@State(Scope.Benchmark)
+public class PoolState {
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    public ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,142 @@
+package benchmarks;
+
+import algorithms.BatchPredictor;
+import algorithms.CompiledTree;
+import algorithms.DecisionTree;
+import algorithms.MappedModel;
+import algorithms.ModelFile;
+import algorithms.Predictor;
+import algorithms.TreeCompiler;
+import datastructures.Dataset;
+import datastructures.TreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <strong>PredictBenchmark</strong> - Times scoring every row of a
+ * synthetic table with one tree: walking the <tt>TreeNode</tt>s with
+ * <tt>DecisionTree.predict</tt>, walking a <tt>CompiledTree</tt>, walking
+ * the same tree saved by <tt>ModelFile</tt> and mapped back as a
+ * <tt>MappedModel</tt>, calling the class <tt>TreeCompiler</tt> generates
+ * from it, and <tt>BatchPredictor</tt> on a pool of 1 to 8 threads. Setup
+ * fails if the generated class and <tt>DecisionTree.predict</tt> disagree
+ * on any row. Each benchmark scores
+ * all rows, so divide the time by the row count for the cost of one row.
+ * Only the <tt>batch</tt> benchmarks take a {@link PoolState}, so only they
+ * are run once per thread count.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PredictBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"2", "8"})
+    public int maxDepth;
+
+    private DecisionTree decisionTree;
+    private TreeNode root;
+    private List<String> features;
+    private CompiledTree compiled;
+    private Path modelFile;
+    private MappedModel mapped;
+    private Predictor generated;
+    private double[][] rowMajor;
+    private double[][] columns;
+    private double[] predictions;
+
+    @Setup
+    public void setUp() throws IOException {
+        Dataset data = BenchmarkData.dataset(rows);
+        features = BenchmarkData.featureNames();
+        decisionTree = new DecisionTree();
+        root = decisionTree.buildTree(data, features, BenchmarkData.TARGET, 0, maxDepth);
+        compiled = CompiledTree.compile(root, features);
+        modelFile = Files.createTempFile("benchmark", ".model");
+        ModelFile.save(compiled, modelFile);
+        mapped = ModelFile.load(modelFile);
+        rowMajor = BenchmarkData.rows(data);
+        columns = new double[features.size()][];
+        for (int j = 0; j < columns.length; j++) {
+            columns[j] = data.getColumn(j);
+        }
+        generated = TreeCompiler.compile(root, features);
+        for (double[] row : rowMajor) {
+            if (Double.compare(generated.predict(row), decisionTree.predict(root, row, features)) != 0) {
+                throw new IllegalStateException("Generated tree disagrees with DecisionTree.predict");
+            }
+        }
+        predictions = new double[rows];
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mapped = null;
+        Files.deleteIfExists(modelFile);
+    }
+
+    @Benchmark
+    public void treeNodePredict(Blackhole blackhole) {
+        for (double[] row : rowMajor) {
+            blackhole.consume(decisionTree.predict(root, row, features));
+        }
+    }
+
+    @Benchmark
+    public void compiledPredict(Blackhole blackhole) {
+        for (double[] row : rowMajor) {
+            blackhole.consume(compiled.predict(row));
+        }
+    }
+
+    @Benchmark
+    public void mappedPredict(Blackhole blackhole) {
+        for (double[] row : rowMajor) {
+            blackhole.consume(mapped.predict(row));
+        }
+    }
+
+    @Benchmark
+    public void generatedPredict(Blackhole blackhole) {
+        for (double[] row : rowMajor) {
+            blackhole.consume(generated.predict(row));
+        }
+    }
+
+    @Benchmark
+    public double[] batchRows(PoolState state) {
+        BatchPredictor.predictBatch(compiled, rowMajor, predictions, state.pool);
+        return predictions;
+    }
+
+    @Benchmark
+    public double[] batchColumns(PoolState state) {
+        BatchPredictor.predictBatch(compiled, columns, rows, predictions, state.pool);
+        return predictions;
+    }
+}
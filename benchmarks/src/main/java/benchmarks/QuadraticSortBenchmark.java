@@ -0,0 +1,71 @@
+package benchmarks;
+
+import algorithms.BubbleSortStrategy;
+import algorithms.InsertionSortStrategy;
+import algorithms.SortStrategy;
+import algorithms.SortUtils;
+import benchmarks.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <strong>QuadraticSortBenchmark</strong> - Times <tt>InsertionSortStrategy</tt>
+ * and <tt>BubbleSortStrategy</tt> on the boxed <tt>List&lt;Double&gt;</tt>
+ * that <tt>DataUtils.calculateMedian</tt> sorts, in every
+ * {@link BenchmarkData.Distribution}. Sizes stop at 1e4: at 1e5 a single
+ * random-order insertion sort takes minutes. Each run sorts a fresh copy;
+ * <tt>SortBenchmark.copyList</tt> times the copy alone.<br><br>
+ * <p>
+ * <tt>BubbleSortStrategy</tt> is still a stub that leaves the list as it is,
+ * so until it is implemented it shows only the copy cost.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadraticSortBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public Distribution distribution;
+
+    @Param({"insertion", "bubble"})
+    public String strategy;
+
+    private List<Double> boxed;
+    private SortStrategy<Double> sorter;
+
+    @Setup
+    public void setUp() {
+        boxed = BenchmarkData.boxed(BenchmarkData.values(size, distribution));
+        sorter = strategy.equals("bubble") ? new BubbleSortStrategy<>() : new InsertionSortStrategy<>();
+    }
+
+    @Benchmark
+    public List<Double> sort() {
+        List<Double> list = new ArrayList<>(boxed);
+        SortUtils.sort(list, sorter);
+        return list;
+    }
+}
@@ -0,0 +1,142 @@
+package benchmarks;
+
+import algorithms.DoubleSortStrategy;
+import algorithms.DualPivotQuickSortStrategy;
+import algorithms.HybridMergeSortStrategy;
+import algorithms.MergeSortStrategy;
+import algorithms.ParallelMergeSortStrategy;
+import algorithms.RadixSortStrategy;
+import algorithms.SortStrategy;
+import algorithms.SortUtils;
+import benchmarks.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utility.DataUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <strong>SortBenchmark</strong> - Times the n log n ways of ordering the
+ * values whose median <tt>DataUtils.calculateMedian</tt> needs: the
+ * <tt>MergeSortStrategy</tt>, <tt>ParallelMergeSortStrategy</tt> (on the
+ * common pool) and <tt>Collections.sort</tt> on a boxed
+ * <tt>List&lt;Double&gt;</tt>, and on a primitive array <tt>Arrays.sort</tt>,
+ * each <tt>DoubleSortStrategy</tt> and the selection in
+ * <tt>DataUtils.median</tt>, for 1e3 to 1e7 values.
+ * <br><br>
+ * <p>
+ * Every benchmark sorts a fresh copy, so <tt>copyList</tt> and
+ * <tt>copyArray</tt> time the copy alone; subtract them for the sort's own
+ * cost. <tt>MergeSortStrategy</tt> is still a stub that leaves the list as
+ * it is, and shows the copy cost until it is implemented. The quadratic
+ * strategies are timed by {@link QuadraticSortBenchmark}.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SortBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public Distribution distribution;
+
+    private double[] values;
+    private List<Double> boxed;
+    private final SortStrategy<Double> mergeSort = new MergeSortStrategy<>();
+    private final SortStrategy<Double> parallelMergeSort = new ParallelMergeSortStrategy<>();
+    private final DoubleSortStrategy dualPivotQuickSort = new DualPivotQuickSortStrategy();
+    private final DoubleSortStrategy radixSort = new RadixSortStrategy();
+    private final DoubleSortStrategy hybridMergeSort = new HybridMergeSortStrategy();
+
+    @Setup
+    public void setUp() {
+        values = BenchmarkData.values(size, distribution);
+        boxed = BenchmarkData.boxed(values);
+    }
+
+    @Benchmark
+    public List<Double> copyList() {
+        return new ArrayList<>(boxed);
+    }
+
+    @Benchmark
+    public List<Double> mergeSortStrategy() {
+        List<Double> list = new ArrayList<>(boxed);
+        SortUtils.sort(list, mergeSort);
+        return list;
+    }
+
+    @Benchmark
+    public List<Double> parallelMergeSortStrategy() {
+        List<Double> list = new ArrayList<>(boxed);
+        SortUtils.sort(list, parallelMergeSort);
+        return list;
+    }
+
+    @Benchmark
+    public List<Double> collectionsSort() {
+        List<Double> list = new ArrayList<>(boxed);
+        Collections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public double[] copyArray() {
+        return values.clone();
+    }
+
+    @Benchmark
+    public double[] arraysSort() {
+        double[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public double[] dualPivotQuickSort() {
+        double[] copy = values.clone();
+        SortUtils.sort(copy, dualPivotQuickSort);
+        return copy;
+    }
+
+    @Benchmark
+    public double[] radixSort() {
+        double[] copy = values.clone();
+        SortUtils.sort(copy, radixSort);
+        return copy;
+    }
+
+    @Benchmark
+    public double[] hybridMergeSort() {
+        double[] copy = values.clone();
+        SortUtils.sort(copy, hybridMergeSort);
+        return copy;
+    }
+
+    @Benchmark
+    public double selectMedian() {
+        return DataUtils.median(values.clone(), 0, size);
+    }
+}
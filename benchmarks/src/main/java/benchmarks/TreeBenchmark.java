@@ -0,0 +1,92 @@
+package benchmarks;
+
+import algorithms.DecisionTree;
+import datastructures.Dataset;
+import datastructures.TreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <strong>TreeBenchmark</strong> - Times <tt>DecisionTree.buildTree</tt> on a
+ * synthetic <tt>Dataset</tt> of 1e3 to 1e7 rows and 11 features, in each
+ * training mode, on 1 to 8 threads.<br><br>
+ * <p>
+ * With one thread the tree is built serially. With more, it is built inside
+ * a fork-join pool of that many threads, with subtrees of at least 16384
+ * rows forked and the features scored in that many groups. Histogram mode
+ * bins each column once and reuses the bins, so its times leave the binning
+ * out.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TreeBenchmark {
+    private static final int PARALLEL_FORK_THRESHOLD = 1 << 14;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"PARTITION", "PRESORTED", "HISTOGRAM"})
+    public DecisionTree.TrainingMode mode;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"8"})
+    public int maxDepth;
+
+    private Dataset data;
+    private List<String> features;
+    private DecisionTree tree;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkData.dataset(rows);
+        features = BenchmarkData.featureNames();
+        tree = new DecisionTree();
+        tree.setTrainingMode(mode);
+        if (threads > 1) {
+            tree.setForkThreshold(PARALLEL_FORK_THRESHOLD);
+            tree.setFeatureParallelism(threads);
+            pool = new ForkJoinPool(threads);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public TreeNode buildTree() {
+        if (pool == null) {
+            return tree.buildTree(data, features, BenchmarkData.TARGET, 0, maxDepth);
+        }
+        return pool.submit(() -> tree.buildTree(data, features, BenchmarkData.TARGET, 0, maxDepth)).join();
+    }
+}
@@ -0,0 +1,179 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <strong>BatchPredictor</strong> - Scores many rows at once. The rows are
+ * split across the cores of a fork-join pool in blocks sized to stay in
+ * cache, and the predictions are written to an output array in input
+ * order.<br><br>
+ * <p>
+ * Rows can be given row-major (<tt>rows[i]</tt> is row i) or column-major
+ * (<tt>columns[j][i]</tt> is feature j of row i, as in a <tt>Dataset</tt>).
+ * Every method returns the throughput of the call in rows per second, so
+ * callers can log it without timing the call themselves. A batch that fits
+ * in one block is scored on the calling thread, without a hand-off to the
+ * pool.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      double[] predictions = new double[rows.length];
+ *      double rowsPerSecond = BatchPredictor.predictBatch(model, rows, predictions);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class BatchPredictor {
+    private static final int BLOCK_BYTES = 1 << 18; // Feature data per block; about an L2 cache
+    private static final int MIN_BLOCK_ROWS = 256;
+
+    /**
+     * Scores row-major rows on the common fork-join pool.
+     *
+     * @param model The model to score with.
+     * @param rows The rows; rows[i] holds the features of row i.
+     * @param predictions Receives the prediction for rows[i] at index i.
+     * @return The throughput of this call, in rows per second.
+     */
+    public static double predictBatch(Predictor model, double[][] rows, double[] predictions) {
+        return predictBatch(model, rows, predictions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scores row-major rows on the given fork-join pool.
+     *
+     * @param model The model to score with.
+     * @param rows The rows; rows[i] holds the features of row i.
+     * @param predictions Receives the prediction for rows[i] at index i.
+     * @param pool The pool that scores the blocks.
+     * @return The throughput of this call, in rows per second.
+     */
+    public static double predictBatch(Predictor model, double[][] rows, double[] predictions, ForkJoinPool pool) {
+        checkOutput(rows.length, predictions);
+        int numFeatures = (rows.length > 0) ? rows[0].length : 1;
+        long start = System.nanoTime();
+        run(new BlockTask(model, rows, null, predictions, 0, rows.length, blockRows(numFeatures)), pool);
+        return rowsPerSecond(rows.length, System.nanoTime() - start);
+    }
+
+    /**
+     * Scores column-major rows on the common fork-join pool.
+     *
+     * @param model The model to score with.
+     * @param columns The features; columns[j][i] holds feature j of row i.
+     * @param numRows The number of rows to score.
+     * @param predictions Receives the prediction for row i at index i.
+     * @return The throughput of this call, in rows per second.
+     */
+    public static double predictBatch(Predictor model, double[][] columns, int numRows, double[] predictions) {
+        return predictBatch(model, columns, numRows, predictions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scores column-major rows on the given fork-join pool.
+     *
+     * @param model The model to score with.
+     * @param columns The features; columns[j][i] holds feature j of row i.
+     * @param numRows The number of rows to score.
+     * @param predictions Receives the prediction for row i at index i.
+     * @param pool The pool that scores the blocks.
+     * @return The throughput of this call, in rows per second.
+     */
+    public static double predictBatch(
+            Predictor model,
+            double[][] columns,
+            int numRows,
+            double[] predictions,
+            ForkJoinPool pool) {
+        checkOutput(numRows, predictions);
+        long start = System.nanoTime();
+        run(new BlockTask(model, null, columns, predictions, 0, numRows,
+                blockRows(Math.max(1, columns.length))), pool);
+        return rowsPerSecond(numRows, System.nanoTime() - start);
+    }
+
+    // Scores a single block right here; forks larger batches on the pool
+    private static void run(BlockTask task, ForkJoinPool pool) {
+        if (task.to - task.from <= task.blockRows) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    private static void checkOutput(int numRows, double[] predictions) {
+        if (predictions.length < numRows) {
+            throw new IllegalArgumentException("Prediction array holds " + predictions.length
+                    + " values but " + numRows + " rows were given");
+        }
+    }
+
+    // Picks a block size whose feature data fits in about BLOCK_BYTES
+    private static int blockRows(int numFeatures) {
+        return Math.max(MIN_BLOCK_ROWS, BLOCK_BYTES / (numFeatures * Double.BYTES));
+    }
+
+    private static double rowsPerSecond(int numRows, long nanos) {
+        return numRows / (Math.max(nanos, 1) / 1e9);
+    }
+
+    // Splits the row range in halves until it is one block, then scores it
+    private static class BlockTask extends RecursiveAction {
+        private final Predictor model;
+        private final double[][] rows;
+        private final double[][] columns;
+        private final double[] predictions;
+        private final int from;
+        private final int to;
+        private final int blockRows;
+
+        BlockTask(Predictor model, double[][] rows, double[][] columns, double[] predictions,
+                  int from, int to, int blockRows) {
+            this.model = model;
+            this.rows = rows;
+            this.columns = columns;
+            this.predictions = predictions;
+            this.from = from;
+            this.to = to;
+            this.blockRows = blockRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > blockRows) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BlockTask(model, rows, columns, predictions, from, mid, blockRows),
+                        new BlockTask(model, rows, columns, predictions, mid, to, blockRows));
+                return;
+            }
+
+            if (rows != null) {
+                for (int i = from; i < to; i++) {
+                    predictions[i] = model.predict(rows[i]);
+                }
+            } else if (model instanceof CompiledTree) {
+                CompiledTree tree = (CompiledTree) model;
+                for (int i = from; i < to; i++) {
+                    predictions[i] = tree.predict(columns, i);
+                }
+            } else if (model instanceof MappedModel) {
+                MappedModel mapped = (MappedModel) model;
+                for (int i = from; i < to; i++) {
+                    predictions[i] = mapped.predict(columns, i);
+                }
+            } else {
+                // Gather each row into one buffer reused for the whole block
+                double[] row = new double[columns.length];
+                for (int i = from; i < to; i++) {
+                    for (int j = 0; j < columns.length; j++) {
+                        row[j] = columns[j][i];
+                    }
+                    predictions[i] = model.predict(row);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package algorithms;
+
+import datastructures.TreeNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <strong>CompiledTree</strong> - A decision tree flattened into parallel
+ * primitive arrays for fast, allocation-free prediction. Built from any
+ * <tt>TreeNode</tt> root, it stores for each node the index of its feature,
+ * its threshold, the positions of its left and right children and, for
+ * leaves, the predicted value.<br><br>
+ * <p>
+ * Feature names are resolved to indices once, when the tree is compiled, so
+ * {@link #predict(double[])} only compares doubles and follows array indices.
+ * Nodes are laid out in pre-order, so a left child sits right after its
+ * parent. Like <tt>DecisionTree.predict</tt>, a value less than or equal to
+ * the threshold goes left, and NaN goes right. A compiled tree never changes
+ * after it is built.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      TreeNode root = decisionTree.buildTree(data, features, target, 0, 2);
+ *      CompiledTree model = CompiledTree.compile(root, features);
+ *      double prediction = model.predict(new double[] {0.72, 0.74, 12.8});
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class CompiledTree implements Predictor {
+    private static final int LEAF = -1; // Feature index that marks a leaf
+
+    private final List<String> features;
+    private final int[] featureIndex;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] value;
+
+    /**
+     * Constructs a CompiledTree from its node arrays. Node 0 is the root; a
+     * leaf has feature index -1 and child positions -1.
+     * <br><br>
+     * @param features Feature names, in the order rows are given in.
+     * @param featureIndex Per node, the index into features it splits on.
+     * @param threshold Per node, the split threshold.
+     * @param left Per node, the position of the left child.
+     * @param right Per node, the position of the right child.
+     * @param value Per node, the leaf value (ignored for decision nodes).
+     */
+    public CompiledTree(
+            List<String> features,
+            int[] featureIndex,
+            double[] threshold,
+            int[] left,
+            int[] right,
+            double[] value) {
+        int n = featureIndex.length;
+        if (n == 0 || threshold.length != n || left.length != n || right.length != n || value.length != n) {
+            throw new IllegalArgumentException("Node arrays must be non-empty and of equal length");
+        }
+        for (int i = 0; i < n; i++) {
+            if (featureIndex[i] == LEAF) {
+                continue;
+            }
+            if (featureIndex[i] < 0 || featureIndex[i] >= features.size()) {
+                throw new IllegalArgumentException("Node " + i + " has no valid feature");
+            }
+            // Children always come after their parent, so prediction cannot loop
+            if (left[i] <= i || left[i] >= n || right[i] <= i || right[i] >= n) {
+                throw new IllegalArgumentException("Node " + i + " has invalid children");
+            }
+        }
+        this.features = List.copyOf(features);
+        this.featureIndex = featureIndex.clone();
+        this.threshold = threshold.clone();
+        this.left = left.clone();
+        this.right = right.clone();
+        this.value = value.clone();
+    }
+
+    /**
+     * Flattens a tree of <tt>TreeNode</tt>s into a CompiledTree.
+     *
+     * @param root The root of the tree, for example <tt>DecisionTree.getRoot()</tt>.
+     * @param features Feature names, in the order rows will be given in.
+     * @return The compiled tree.
+     */
+    public static CompiledTree compile(TreeNode root, List<String> features) {
+        if (root == null) {
+            throw new IllegalArgumentException("Cannot compile an empty tree");
+        }
+        List<TreeNode> nodes = new ArrayList<>();
+        collect(root, nodes);
+
+        int n = nodes.size();
+        int[] featureIndex = new int[n];
+        double[] threshold = new double[n];
+        int[] left = new int[n];
+        int[] right = new int[n];
+        double[] value = new double[n];
+
+        // In pre-order the left child follows its parent and the right child
+        //  follows the whole left subtree
+        int[] subtreeSize = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            TreeNode node = nodes.get(i);
+            subtreeSize[i] = 1;
+            if (node.value == null) {
+                subtreeSize[i] += subtreeSize[i + 1] + subtreeSize[i + 1 + subtreeSize[i + 1]];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            TreeNode node = nodes.get(i);
+            if (node.value != null) {
+                featureIndex[i] = LEAF;
+                left[i] = LEAF;
+                right[i] = LEAF;
+                value[i] = node.value;
+            } else {
+                featureIndex[i] = features.indexOf(node.feature);
+                if (featureIndex[i] < 0) {
+                    throw new IllegalArgumentException("Unknown feature in tree: " + node.feature);
+                }
+                threshold[i] = node.threshold;
+                left[i] = i + 1;
+                right[i] = i + 1 + subtreeSize[i + 1];
+            }
+        }
+        return new CompiledTree(features, featureIndex, threshold, left, right, value);
+    }
+
+    // Lists the nodes in pre-order; a node without a value must have two children
+    private static void collect(TreeNode node, List<TreeNode> nodes) {
+        nodes.add(node);
+        if (node.value == null) {
+            if (node.left == null || node.right == null) {
+                throw new IllegalArgumentException("Decision node on " + node.feature + " is missing a child");
+            }
+            collect(node.left, nodes);
+            collect(node.right, nodes);
+        }
+    }
+
+    /**
+     * Predicts the target value for one row by walking the node arrays.
+     * Allocates nothing.
+     *
+     * @param row Feature values, in the order of {@link #getFeatures()}.
+     * @return The value of the leaf that is reached.
+     */
+    @Override
+    public double predict(double[] row) {
+        int i = 0;
+        while (featureIndex[i] != LEAF) {
+            i = (row[featureIndex[i]] <= threshold[i]) ? left[i] : right[i];
+        }
+        return value[i];
+    }
+
+    /**
+     * Predicts the target value for one row of a column-major matrix.
+     *
+     * @param columns One array per feature, in the order of {@link #getFeatures()}.
+     * @param row The row to score.
+     * @return The value of the leaf that is reached.
+     */
+    public double predict(double[][] columns, int row) {
+        int i = 0;
+        while (featureIndex[i] != LEAF) {
+            i = (columns[featureIndex[i]][row] <= threshold[i]) ? left[i] : right[i];
+        }
+        return value[i];
+    }
+
+    /**
+     * Rebuilds a <tt>TreeNode</tt> tree from the node arrays, for example to
+     * show a compiled model with <tt>TreeVisualizer</tt>.
+     *
+     * @return The root of the rebuilt tree.
+     */
+    public TreeNode toTreeNode() {
+        return toTreeNode(0);
+    }
+
+    private TreeNode toTreeNode(int i) {
+        if (featureIndex[i] == LEAF) {
+            return new TreeNode(value[i]);
+        }
+        return new TreeNode(features.get(featureIndex[i]), threshold[i],
+                toTreeNode(left[i]), toTreeNode(right[i]), null);
+    }
+
+    // Returns the feature names, in the order rows are given in
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    // Returns the number of nodes, leaves included
+    public int getNodeCount() {
+        return featureIndex.length;
+    }
+
+    // Returns true if the node is a leaf
+    public boolean isLeaf(int node) {
+        return featureIndex[node] == LEAF;
+    }
+
+    // Returns the index into getFeatures() that a decision node splits on, or -1 for a leaf
+    public int getFeatureIndex(int node) {
+        return featureIndex[node];
+    }
+
+    // Returns the threshold of a decision node
+    public double getThreshold(int node) {
+        return threshold[node];
+    }
+
+    // Returns the position of a decision node's left child, or -1 for a leaf
+    public int getLeft(int node) {
+        return left[node];
+    }
+
+    // Returns the position of a decision node's right child, or -1 for a leaf
+    public int getRight(int node) {
+        return right[node];
+    }
+
+    // Returns the value of a leaf
+    public double getValue(int node) {
+        return value[node];
+    }
+}
@@ -1,10 +1,22 @@
 package algorithms;
 
+import datastructures.Dataset;
 import datastructures.TreeNode;
+import utility.CorrelationSums;
 import utility.DataUtils;
+import utility.FeatureBins;
+import utility.Histogram;
+import utility.QuantileSketch;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * <strong>DecisionTree</strong> - Represents a Decision Tree for classification
@@ -32,7 +44,55 @@ import java.util.ArrayList;
  */
 
 public class DecisionTree {
-    private TreeNode root; // Store the root of the decision tree
+    /**
+     * How a tree built from a {@link Dataset} finds the median split
+     * threshold at each node.
+     */
+    public enum TrainingMode {
+        /** Gather and sort the node's feature values at every node. */
+        PARTITION,
+        /** Sort each feature once at the root; nodes inherit the sorted order. */
+        PRESORTED,
+        /**
+         * Quantize each feature once into at most 256 bins and find splits
+         * from per-bin sums. Approximate, but cheapest on very large data.
+         */
+        HISTOGRAM,
+        /**
+         * Estimate each node's median from a {@link QuantileSketch} of the
+         * node's values instead of selecting it exactly. The same threshold
+         * source the streaming trainers use; exact for small nodes.
+         */
+        SKETCH
+    }
+
+    /**
+     * What a leaf of a tree built from a {@link Dataset} predicts for its rows.
+     */
+    public enum LeafValue {
+        /** The most common target value; suits class-like targets. */
+        MOST_COMMON,
+        /** The mean target value; minimizes squared error, as boosting needs. */
+        MEAN
+    }
+
+    // Store the root of the decision tree. Volatile so a root published by one
+    //  build is seen whole by other threads; if builds overlap, the last one to finish wins.
+    private volatile TreeNode root;
+    private TrainingMode trainingMode = TrainingMode.PARTITION;
+    private int featureParallelism = 1; // Feature groups scored at once; 1 scores serially
+    private int forkThreshold = Integer.MAX_VALUE; // Subtrees with this many rows are built in parallel
+    private int featureSubsetSize = 0;  // Features sampled per split; 0 considers all of them
+    private long randomSeed = 0;        // Seeds the per-split feature sampling
+    private LeafValue leafValue = LeafValue.MOST_COMMON;
+    private int sketchSize = QuantileSketch.DEFAULT_K; // Size parameter of the sketch mode's sketches
+
+    private static final long ROOT_ID = 1; // Node id of the root; node i has children 2i and 2i + 1
+
+    // Nodes smaller than this score their features serially - forking would cost more
+    private static final int MIN_PARALLEL_SCORING_ROWS = 8192;
+
+    private static final double TIE_TOLERANCE = 1e-6; // Scores this close are tied
 
 
     /**
@@ -145,6 +205,623 @@ public class DecisionTree {
         return bestFeature; // Return the best feature if there is no tie or if the tiebreaker method is not specified
     }
 
+    /**
+     * Builds the decision tree from a columnar dataset. Follows the same steps
+     * as the list-based version: stop at the maximum depth, when no features
+     * are left or when every target value is equal; otherwise split on the
+     * feature most correlated with the target at its median, and recurse
+     * without that feature. Values are read from primitive columns, so no cell
+     * is parsed while the tree is built.
+     * <br><br>
+     * Subsets are never copied. One array of row indices is shared by the
+     * whole build, and each split partitions its node's range of that array
+     * in place, so every node works on a (from, to) range of it. In
+     * {@link TrainingMode#PRESORTED} mode each feature also gets its own index
+     * array, sorted once by value at the root and split stably at every node,
+     * so a node reads its median directly instead of sorting. In
+     * {@link TrainingMode#HISTOGRAM} mode each feature is binned once, nodes
+     * score features and pick thresholds from histograms of the bins, and
+     * only the smaller child of a split builds its histogram; the larger
+     * child takes its parent's minus its sibling's. In
+     * {@link TrainingMode#SKETCH} mode a node's median comes from a
+     * {@link QuantileSketch} of its values, as in the streaming trainers.
+     * <br><br>
+     * Subtrees whose range holds at least {@link #setForkThreshold} rows are
+     * built as fork-join tasks on the common pool, or on the caller's pool
+     * when called from a fork-join task. Sibling ranges never
+     * overlap, so the tasks share the arrays safely, and the resulting tree
+     * is the same as a sequential build.
+     *
+     * @param data The columnar dataset used to build the tree.
+     * @param features List of feature names that may be split on.
+     * @param target The name of the target variable for prediction.
+     * @param depth The current depth of the tree during the building process.
+     * @param maxDepth The maximum allowed depth of the tree to prevent overfitting.
+     * @return The root node of the constructed decision tree.
+     */
+    public TreeNode buildTree(
+            Dataset data,
+            List<String> features,
+            String target,
+            int depth,
+            int maxDepth) {
+        int[] rows = new int[data.numRows()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        return buildTree(data, rows, features, target, depth, maxDepth);
+    }
+
+    /**
+     * Builds the decision tree from a subset of the rows of a columnar
+     * dataset, for example a bootstrap sample. Rows may repeat. The dataset is
+     * only read, never copied, so many trees can be built from it at once.
+     *
+     * @param data The columnar dataset used to build the tree.
+     * @param rows Indices of the rows to train on; the array is not modified.
+     * @param features List of feature names that may be split on.
+     * @param target The name of the target variable for prediction.
+     * @param depth The current depth of the tree during the building process.
+     * @param maxDepth The maximum allowed depth of the tree to prevent overfitting.
+     * @return The root node of the constructed decision tree.
+     */
+    public TreeNode buildTree(
+            Dataset data,
+            int[] rows,
+            List<String> features,
+            String target,
+            int depth,
+            int maxDepth) {
+        Workspace ws = new Workspace(data, data.indexOf(target), rows.clone(), new double[rows.length]);
+        if (trainingMode == TrainingMode.PRESORTED) {
+            ws.presort(features);
+        } else if (trainingMode == TrainingMode.HISTOGRAM) {
+            ws.bin(features);
+        } else if (trainingMode == TrainingMode.SKETCH) {
+            ws.sketchSize = sketchSize;
+        }
+        return build(ws, features, depth, maxDepth);
+    }
+
+    // Builds a tree over rows[0..rows.length) using buffers the caller keeps
+    //  between builds, for trainers that build many trees over the same rows.
+    //  The rows array is reordered in place; scratch must be at least as long.
+    //  Always uses the partition mode, whose workspace is just these two arrays.
+    TreeNode buildTree(
+            Dataset data,
+            int[] rows,
+            double[] scratch,
+            List<String> features,
+            String target,
+            int maxDepth) {
+        if (scratch.length < rows.length) {
+            throw new IllegalArgumentException("Scratch buffer shorter than the row array");
+        }
+        return build(new Workspace(data, data.indexOf(target), rows, scratch), features, 0, maxDepth);
+    }
+
+    // Runs a build over the whole workspace, in parallel when it is large enough
+    private TreeNode build(Workspace ws, List<String> features, int depth, int maxDepth) {
+        int[] rows = ws.rows;
+        TreeNode node;
+        if (rows.length >= forkThreshold) {
+            // Stay in the caller's pool when called from a fork-join task
+            BuildTask task = new BuildTask(ws, 0, rows.length, features, depth, maxDepth, ROOT_ID, null);
+            node = ForkJoinTask.inForkJoinPool() ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+        } else {
+            node = buildTree(ws, 0, rows.length, features, depth, maxDepth, ROOT_ID, null);
+        }
+        // Only the finished tree is published; subtree builds never touch root
+        if (depth == 0) {
+            this.root = node;
+        }
+        return node;
+    }
+
+    // Builds the subtree for the rows in ws.rows[from..to). The node id
+    //  (root 1, children 2 * id and 2 * id + 1) seeds the node's feature sampling.
+    //  In histogram mode, histogram holds the range's bin statistics if the
+    //  parent already derived them; otherwise it is null.
+    private TreeNode buildTree(
+            Workspace ws,
+            int from,
+            int to,
+            List<String> features,
+            int depth,
+            int maxDepth,
+            long nodeId,
+            Histogram histogram) {
+        // Step 1: base cases - create a leaf (the most common target value by default)
+        if (depth >= maxDepth || features.isEmpty() || isPure(ws, from, to)) {
+            return makeLeaf(ws, from, to);
+        }
+
+        if (ws.bins != null && histogram == null) {
+            histogram = buildHistogram(ws, from, to, features);
+        }
+
+        // Step 2: select the best feature to split on (from a random subset, if configured)
+        String bestFeature = selectBestFeature(ws, from, to, sampleFeatures(features, nodeId), histogram);
+        if (bestFeature == null) {
+            return makeLeaf(ws, from, to);
+        }
+        int featureIndex = ws.data.indexOf(bestFeature);
+
+        List<String> remaining = new ArrayList<>(features);
+        remaining.remove(bestFeature);
+
+        // Step 3: split the rows in place at the median of the best feature
+        double threshold;
+        int mid;
+        if (ws.bins != null) {
+            int splitBin = histogram.splitBin(featureIndex);
+            if (splitBin < 0) {
+                return makeLeaf(ws, from, to);
+            }
+            threshold = ws.bins[featureIndex].upperEdge(splitBin);
+            mid = partitionBinned(ws, from, to, featureIndex, splitBin);
+        } else if (ws.sortedRows != null) {
+            threshold = sortedMedian(ws, from, to, featureIndex);
+            mid = partitionSorted(ws, from, to, featureIndex, threshold, remaining);
+        } else if (ws.sketchSize > 0) {
+            threshold = sketchMedian(ws, from, to, featureIndex, nodeId);
+            mid = DataUtils.partition(ws.data, ws.rows, from, to, featureIndex, threshold);
+        } else {
+            threshold = DataUtils.calculateMedian(ws.data, ws.rows, from, to, featureIndex, ws.scratch);
+            mid = DataUtils.partition(ws.data, ws.rows, from, to, featureIndex, threshold);
+        }
+        if (mid == from || mid == to) {
+            return makeLeaf(ws, from, to); // The split does not separate anything
+        }
+
+        // Step 4: recurse on both ranges without the feature just used. The
+        //  ranges are disjoint, so large ones are built as parallel tasks.
+        //  In histogram mode the smaller child's histogram is built from its
+        //  rows and the larger child's is the parent's minus it.
+        Histogram leftHistogram = null;
+        Histogram rightHistogram = null;
+        if (ws.bins != null && depth + 1 < maxDepth && !remaining.isEmpty()) {
+            if (mid - from <= to - mid) {
+                leftHistogram = buildHistogram(ws, from, mid, remaining);
+                rightHistogram = histogram.minus(leftHistogram, columnsOf(ws, remaining));
+            } else {
+                rightHistogram = buildHistogram(ws, mid, to, remaining);
+                leftHistogram = histogram.minus(rightHistogram, columnsOf(ws, remaining));
+            }
+        }
+
+        TreeNode left;
+        TreeNode right;
+        long leftId = 2 * nodeId;
+        long rightId = 2 * nodeId + 1;
+        if (mid - from >= forkThreshold) {
+            BuildTask leftTask = new BuildTask(ws, from, mid, remaining, depth + 1, maxDepth, leftId, leftHistogram);
+            leftTask.fork();
+            right = buildTree(ws, mid, to, remaining, depth + 1, maxDepth, rightId, rightHistogram);
+            left = leftTask.join();
+        } else if (to - mid >= forkThreshold) {
+            BuildTask rightTask = new BuildTask(ws, mid, to, remaining, depth + 1, maxDepth, rightId, rightHistogram);
+            rightTask.fork();
+            left = buildTree(ws, from, mid, remaining, depth + 1, maxDepth, leftId, leftHistogram);
+            right = rightTask.join();
+        } else {
+            left = buildTree(ws, from, mid, remaining, depth + 1, maxDepth, leftId, leftHistogram);
+            right = buildTree(ws, mid, to, remaining, depth + 1, maxDepth, rightId, rightHistogram);
+        }
+
+        // Step 5: create the current tree node
+        return new TreeNode(bestFeature, threshold, left, right, null);
+    }
+
+    // Returns the features a node may choose from: all of them, or a random
+    //  subset of featureSubsetSize. The random generator is seeded from the
+    //  tree's seed and the node id, so the choice does not depend on which
+    //  thread builds the node or when.
+    private List<String> sampleFeatures(List<String> features, long nodeId) {
+        if (featureSubsetSize <= 0 || featureSubsetSize >= features.size()) {
+            return features;
+        }
+        SplittableRandom random = new SplittableRandom(randomSeed ^ (nodeId * 0x9E3779B97F4A7C15L));
+        List<String> shuffled = new ArrayList<>(features);
+        for (int i = 0; i < featureSubsetSize; i++) {
+            Collections.swap(shuffled, i, i + random.nextInt(shuffled.size() - i));
+        }
+        return shuffled.subList(0, featureSubsetSize);
+    }
+
+    // Builds one subtree as a fork-join task; used for ranges of at least forkThreshold rows
+    private class BuildTask extends RecursiveTask<TreeNode> {
+        private final Workspace ws;
+        private final int from;
+        private final int to;
+        private final List<String> features;
+        private final int depth;
+        private final int maxDepth;
+        private final long nodeId;
+        private final Histogram histogram;
+
+        BuildTask(Workspace ws, int from, int to, List<String> features, int depth, int maxDepth, long nodeId,
+                  Histogram histogram) {
+            this.ws = ws;
+            this.from = from;
+            this.to = to;
+            this.features = features;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.nodeId = nodeId;
+            this.histogram = histogram;
+        }
+
+        @Override
+        protected TreeNode compute() {
+            return buildTree(ws, from, to, features, depth, maxDepth, nodeId, histogram);
+        }
+    }
+
+    // Selects the feature with the highest absolute correlation to the target,
+    //  breaking ties (within a tolerance) by the lower alphabetical name
+    private String selectBestFeature(
+            Workspace ws,
+            int from,
+            int to,
+            List<String> features,
+            Histogram histogram) {
+        // Score every feature in one pass over the node's rows (or one pass
+        //  per group in parallel), or read the scores off the histogram
+        int[] featureIndices = columnsOf(ws, features);
+        double[] correlations;
+        if (histogram != null) {
+            correlations = new double[featureIndices.length];
+            for (int f = 0; f < featureIndices.length; f++) {
+                correlations[f] = histogram.correlation(featureIndices[f]);
+            }
+        } else {
+            correlations = scoreFeatures(ws, from, to, featureIndices);
+        }
+
+        int best = selectBestFeature(correlations, featureIndices, ws.data.getHeader());
+        return (best < 0) ? null : features.get(best);
+    }
+
+    /**
+     * Picks the split feature the same way for every trainer, so that the
+     * streaming and out-of-core trees match this one: the candidate with the
+     * highest absolute correlation to the target, where scores within
+     * 1e-6 of each other are tied and a tie goes to the lower name.
+     *
+     * @param correlations The correlation of each candidate with the target.
+     * @param candidates The column of each candidate.
+     * @param names Column names, indexed by column.
+     * @return The position of the winner in candidates, or -1 if every
+     *         candidate is constant (its correlation NaN).
+     */
+    static int selectBestFeature(double[] correlations, int[] candidates, List<String> names) {
+        int best = -1;
+        double maxCorrelation = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < candidates.length; c++) {
+            double correlation = Math.abs(correlations[c]);
+            if (Double.isNaN(correlation)) {
+                continue; // Constant column - it cannot split anything
+            }
+            if (correlation > maxCorrelation + TIE_TOLERANCE) {
+                best = c;
+                maxCorrelation = correlation;
+            } else if (Math.abs(correlation - maxCorrelation) <= TIE_TOLERANCE
+                    && names.get(candidates[c]).compareTo(names.get(candidates[best])) < 0) {
+                best = c;
+                maxCorrelation = correlation;
+            }
+        }
+        return best;
+    }
+
+    // Returns the column index of each feature
+    private static int[] columnsOf(Workspace ws, List<String> features) {
+        int[] columns = new int[features.size()];
+        for (int f = 0; f < columns.length; f++) {
+            columns[f] = ws.data.indexOf(features.get(f));
+        }
+        return columns;
+    }
+
+    // Estimates the median of a feature over the range with a quantile sketch,
+    //  seeded from the tree's seed and the node id like the feature sampling
+    private double sketchMedian(Workspace ws, int from, int to, int featureIndex, long nodeId) {
+        QuantileSketch sketch = new QuantileSketch(ws.sketchSize, randomSeed ^ (nodeId * 0x9E3779B97F4A7C15L));
+        sketch.add(ws.data, ws.rows, from, to, featureIndex);
+        return sketch.median();
+    }
+
+    // Collects the bin statistics of the given features over the range
+    private static Histogram buildHistogram(Workspace ws, int from, int to, List<String> features) {
+        Histogram histogram = new Histogram(ws.bins, columnsOf(ws, features), ws.targetIndex);
+        histogram.add(ws.data, ws.rows, from, to);
+        return histogram;
+    }
+
+    // Moves the rows whose bin is at most splitBin to the front of the range
+    //  and returns the first position of the right child. Reads only the bins.
+    private static int partitionBinned(Workspace ws, int from, int to, int featureIndex, int splitBin) {
+        byte[] bins = ws.bins[featureIndex].getBins();
+        int[] rows = ws.rows;
+        int i = from;
+        int j = to - 1;
+        while (true) {
+            while (i <= j && (bins[rows[i]] & 0xFF) <= splitBin) {
+                i++;
+            }
+            while (i <= j && (bins[rows[j]] & 0xFF) > splitBin) {
+                j--;
+            }
+            if (i >= j) {
+                return i;
+            }
+            int swap = rows[i];
+            rows[i] = rows[j];
+            rows[j] = swap;
+        }
+    }
+
+    // Reads the median of a feature from its presorted range in constant time
+    private static double sortedMedian(Workspace ws, int from, int to, int featureIndex) {
+        double[] values = ws.data.getColumn(featureIndex);
+        int[] sorted = ws.sortedRows[featureIndex];
+        int n = to - from;
+        int mid = from + n / 2;
+        return (n % 2 == 1) ? values[sorted[mid]]
+                : (values[sorted[mid - 1]] + values[sorted[mid]]) / 2.0;
+    }
+
+    // Splits the range of the row array and of every presorted array the
+    //  subtrees still need. The split is stable, so each child range stays
+    //  sorted. Returns the first position of the right child.
+    private static int partitionSorted(
+            Workspace ws,
+            int from,
+            int to,
+            int featureIndex,
+            double threshold,
+            List<String> remaining) {
+        double[] values = ws.data.getColumn(featureIndex);
+        int mid = from;
+        for (int i = from; i < to; i++) {
+            int row = ws.rows[i];
+            ws.goesLeft[row] = values[row] <= threshold;
+            if (ws.goesLeft[row]) {
+                mid++;
+            }
+        }
+
+        stablePartition(ws, ws.rows, from, to, mid);
+        for (String feature : remaining) {
+            stablePartition(ws, ws.sortedRows[ws.data.indexOf(feature)], from, to, mid);
+        }
+        return mid;
+    }
+
+    // Moves the rows marked in ws.goesLeft to the front of the range, keeping order
+    private static void stablePartition(Workspace ws, int[] rows, int from, int to, int mid) {
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            ws.rowScratch[ws.goesLeft[row] ? left++ : right++] = row;
+        }
+        System.arraycopy(ws.rowScratch, from, rows, from, to - from);
+    }
+
+    // Returns the correlation of each feature with the target over the range.
+    //  With feature parallelism, contiguous groups of features are scored by
+    //  separate fork-join tasks. Each feature's sums are still gathered in
+    //  row order by a single task, so the results match the serial ones bit
+    //  for bit and the tie-break below picks the same feature.
+    private double[] scoreFeatures(Workspace ws, int from, int to, int[] featureIndices) {
+        int groups = Math.min(featureParallelism, featureIndices.length);
+        if (groups <= 1 || to - from < MIN_PARALLEL_SCORING_ROWS) {
+            CorrelationSums sums = new CorrelationSums(featureIndices, ws.targetIndex);
+            sums.add(ws.data, ws.rows, from, to);
+            return sums.correlations();
+        }
+
+        double[] correlations = new double[featureIndices.length];
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            int first = g * featureIndices.length / groups;
+            int last = (g + 1) * featureIndices.length / groups;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    CorrelationSums sums = new CorrelationSums(
+                            Arrays.copyOfRange(featureIndices, first, last), ws.targetIndex);
+                    sums.add(ws.data, ws.rows, from, to);
+                    System.arraycopy(sums.correlations(), 0, correlations, first, last - first);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return correlations;
+    }
+
+    // Returns true if every target value in the range is equal
+    private static boolean isPure(Workspace ws, int from, int to) {
+        double[] targets = ws.data.getColumn(ws.targetIndex);
+        for (int i = from + 1; i < to; i++) {
+            if (targets[ws.rows[i]] != targets[ws.rows[from]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Creates a leaf for the range holding the configured leaf value
+    private TreeNode makeLeaf(Workspace ws, int from, int to) {
+        return (leafValue == LeafValue.MEAN) ? meanLeaf(ws, from, to) : mostCommonLeaf(ws, from, to);
+    }
+
+    // Creates a leaf holding the mean target value in the range, or NaN for an empty range
+    private static TreeNode meanLeaf(Workspace ws, int from, int to) {
+        double[] targets = ws.data.getColumn(ws.targetIndex);
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += targets[ws.rows[i]];
+        }
+        return new TreeNode(sum / (to - from));
+    }
+
+    // Creates a leaf holding the most common target value in the range (the
+    //  lowest value wins ties), or NaN for an empty range
+    private static TreeNode mostCommonLeaf(Workspace ws, int from, int to) {
+        double[] targets = ws.data.getColumn(ws.targetIndex);
+        double[] sorted = ws.scratch;
+        for (int i = from; i < to; i++) {
+            sorted[i] = targets[ws.rows[i]];
+        }
+        Arrays.sort(sorted, from, to);
+
+        double best = Double.NaN;
+        int bestCount = 0;
+        for (int i = from; i < to; ) {
+            int j = i;
+            while (j < to && sorted[j] == sorted[i]) {
+                j++;
+            }
+            if (j - i > bestCount) {
+                best = sorted[i];
+                bestCount = j - i;
+            }
+            i = Math.max(j, i + 1); // NaN never equals itself, so always advance
+        }
+        return new TreeNode(best);
+    }
+
+    // State shared by every node of one build: the data, the row index array
+    //  that nodes partition in place, and a scratch buffer of the same length.
+    //  The presorted mode adds one sorted index array per feature (indexed by
+    //  column), a left/right flag per row and an int scratch buffer; the
+    //  histogram mode adds the bins of each feature (indexed by column), and
+    //  the sketch mode the size of its sketches.
+    //  Each node only touches the [from, to) range of the arrays.
+    private static class Workspace {
+        final Dataset data;
+        final int targetIndex;
+        final int[] rows;
+        final double[] scratch;
+        int[][] sortedRows;
+        boolean[] goesLeft;
+        int[] rowScratch;
+        FeatureBins[] bins;
+        int sketchSize;
+
+        Workspace(Dataset data, int targetIndex, int[] rows, double[] scratch) {
+            this.data = data;
+            this.targetIndex = targetIndex;
+            this.rows = rows;
+            this.scratch = scratch;
+        }
+
+        // Sorts the rows by each feature once, for the presorted training mode
+        void presort(List<String> features) {
+            sortedRows = new int[data.numColumns()][];
+            goesLeft = new boolean[data.numRows()]; // Indexed by row, not by position
+            rowScratch = new int[rows.length];
+            for (String feature : features) {
+                int column = data.indexOf(feature);
+                sortedRows[column] = rows.clone();
+                DataUtils.sortRows(data, sortedRows[column], column);
+            }
+        }
+
+        // Looks up (or, the first time, computes) the bins of each feature, for the histogram mode
+        void bin(List<String> features) {
+            bins = new FeatureBins[data.numColumns()];
+            for (String feature : features) {
+                int column = data.indexOf(feature);
+                bins[column] = FeatureBins.of(data.getColumn(column), data.numRows());
+            }
+        }
+    }
+
+    // Sets how trees built from a Dataset find their split thresholds
+    public void setTrainingMode(TrainingMode trainingMode) {
+        this.trainingMode = trainingMode;
+    }
+
+    // Returns the training mode used for trees built from a Dataset
+    public TrainingMode getTrainingMode() {
+        return this.trainingMode;
+    }
+
+    // Sets how many groups of features are scored in parallel at each node
+    //  (on the common fork-join pool, or the pool the build runs in); 1 is serial
+    public void setFeatureParallelism(int featureParallelism) {
+        if (featureParallelism < 1) {
+            throw new IllegalArgumentException("Feature parallelism must be at least 1");
+        }
+        this.featureParallelism = featureParallelism;
+    }
+
+    // Returns how many groups of features are scored in parallel at each node
+    public int getFeatureParallelism() {
+        return this.featureParallelism;
+    }
+
+    // Sets the smallest number of rows for which a subtree is built as its own
+    //  fork-join task; smaller subtrees are built by plain recursion
+    public void setForkThreshold(int forkThreshold) {
+        if (forkThreshold < 1) {
+            throw new IllegalArgumentException("Fork threshold must be at least 1");
+        }
+        this.forkThreshold = forkThreshold;
+    }
+
+    // Returns the smallest number of rows for which a subtree is built in parallel
+    public int getForkThreshold() {
+        return this.forkThreshold;
+    }
+
+    // Sets how many randomly chosen features each split considers (as in a
+    //  random forest); 0, the default, considers every remaining feature
+    public void setFeatureSubsetSize(int featureSubsetSize) {
+        if (featureSubsetSize < 0) {
+            throw new IllegalArgumentException("Feature subset size cannot be negative");
+        }
+        this.featureSubsetSize = featureSubsetSize;
+    }
+
+    // Returns how many randomly chosen features each split considers; 0 means all
+    public int getFeatureSubsetSize() {
+        return this.featureSubsetSize;
+    }
+
+    // Sets the seed of the per-split feature sampling; the same seed gives the same tree
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    // Sets the size parameter of the quantile sketches used in sketch mode;
+    //  larger sketches give closer medians
+    public void setSketchSize(int sketchSize) {
+        if (sketchSize < 8) {
+            throw new IllegalArgumentException("Sketch size must be at least 8");
+        }
+        this.sketchSize = sketchSize;
+    }
+
+    // Returns the size parameter of the quantile sketches used in sketch mode
+    public int getSketchSize() {
+        return this.sketchSize;
+    }
+
+    // Sets what the leaves of trees built from a Dataset predict
+    public void setLeafValue(LeafValue leafValue) {
+        this.leafValue = leafValue;
+    }
+
+    // Returns what the leaves of trees built from a Dataset predict
+    public LeafValue getLeafValue() {
+        return this.leafValue;
+    }
+
     // Returns the root node of the decision tree
     public TreeNode getRoot() {
         return this.root;
@@ -158,6 +835,24 @@ public class DecisionTree {
         return 0; // Placeholder
     }
 
+    /**
+     * Predicts the target value for a numeric data point by walking the tree
+     * from the given node down to a leaf.
+     *
+     * @param tree The node to start from, usually the root.
+     * @param dataPoint Feature values, in the same order as features.
+     * @param features The feature names the data point's values belong to.
+     * @return The value of the leaf that is reached.
+     */
+    public double predict(TreeNode tree, double[] dataPoint, List<String> features) {
+        TreeNode node = tree;
+        while (node.value == null) {
+            double x = dataPoint[features.indexOf(node.feature)];
+            node = (x <= node.threshold) ? node.left : node.right;
+        }
+        return node.value;
+    }
+
     public void preOrderTraversal(TreeNode node) {
         System.out.println("preOrderTraversal( Not Done )"); // Placeholder
         // TODO: Implement pre-order traversal and print each node using nodeToString
@@ -0,0 +1,35 @@
+package algorithms;
+
+/**
+ * <strong>DoubleSortStrategy</strong> - Strategy interface for sorting
+ * algorithms on primitive <tt>double</tt> arrays.
+ * <br><br><p>
+ * The primitive sibling of {@link SortStrategy}: it sorts a range of a
+ * <tt>double[]</tt> in place, so values are never boxed and compared through
+ * <tt>compareTo</tt>. Every implementation sorts into the order of
+ * <tt>Arrays.sort</tt> (and <tt>Double.compare</tt>): -0.0 before 0.0, and
+ * NaN after every number.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+public interface DoubleSortStrategy {
+    /**
+     * Sorts values[from..to) in place.
+     *
+     * @param values the array holding the range to be sorted
+     * @param from the first index of the range (inclusive)
+     * @param to the last index of the range (exclusive)
+     */
+    void sort(double[] values, int from, int to);
+
+    /**
+     * Sorts the whole array in place.
+     *
+     * @param values the array to be sorted
+     */
+    default void sort(double[] values) {
+        sort(values, 0, values.length);
+    }
+}
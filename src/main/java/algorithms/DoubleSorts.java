@@ -0,0 +1,79 @@
+package algorithms;
+
+/**
+ * <strong>DoubleSorts</strong> - Steps shared by the comparison-based
+ * <tt>DoubleSortStrategy</tt> implementations. They compare with the
+ * primitive operators, which are fast but leave NaN unordered and -0.0 equal
+ * to 0.0; the strategies first move NaNs to the end of the range and
+ * afterwards put negative zeros before positive ones, which gives the order
+ * of <tt>Arrays.sort</tt>.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+final class DoubleSorts {
+    private DoubleSorts() {
+    }
+
+    // Moves every NaN to the end of values[from..to) and returns where they start
+    static int moveNaNsToEnd(double[] values, int from, int to) {
+        int end = to;
+        for (int i = to - 1; i >= from; i--) {
+            if (Double.isNaN(values[i])) {
+                values[i] = values[--end];
+                values[end] = Double.NaN;
+            }
+        }
+        return end;
+    }
+
+    // Reorders the zeros of a sorted, NaN-free range so that -0.0 comes before 0.0
+    static void orderZeros(double[] values, int from, int to) {
+        int first = firstNotBelowZero(values, from, to);
+        int negativeZeros = 0;
+        int i = first;
+        for (; i < to && values[i] == 0.0; i++) {
+            if (Double.doubleToRawLongBits(values[i]) < 0) {
+                negativeZeros++;
+            }
+        }
+        for (int j = first; j < i; j++) {
+            values[j] = (j - first < negativeZeros) ? -0.0 : 0.0;
+        }
+    }
+
+    // Returns the first index of a sorted range whose value is at least zero
+    private static int firstNotBelowZero(double[] values, int from, int to) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < 0.0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Sorts a short, NaN-free range by insertion; stable
+    static void insertionSort(double[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double key = values[i];
+            int j = i - 1;
+            while (j >= from && values[j] > key) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = key;
+        }
+    }
+
+    static void swap(double[] values, int i, int j) {
+        double t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+}
@@ -0,0 +1,85 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * <strong>DualPivotQuickSortStrategy</strong> - Sorts a <tt>double[]</tt>
+ * range with dual-pivot quicksort: two pivots split each range into three
+ * parts (below the smaller pivot, between the pivots, above the larger),
+ * which takes fewer passes over the data than splitting in two.<br><br>
+ * <p>
+ * Pivots are taken at one and two thirds of the range, ranges shorter than
+ * {@link #INSERTION_CUTOFF} are finished by insertion sort, and if the
+ * partitions keep coming out unbalanced the remaining range falls back to
+ * <tt>Arrays.sort</tt>, so the worst case stays O(n log n). Not stable.
+ * <br><br>
+ * </p>
+ *
+ * Usage: Instantiate and use with <tt>SortUtils.sort</tt> to sort arrays.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class DualPivotQuickSortStrategy implements DoubleSortStrategy {
+    public static final int INSERTION_CUTOFF = 32;
+
+    @Override
+    public void sort(double[] values, int from, int to) {
+        int end = DoubleSorts.moveNaNsToEnd(values, from, to);
+        if (end - from < 2) {
+            return;
+        }
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(end - from)); // ~2 log2(n) levels
+        quickSort(values, from, end - 1, budget);
+        DoubleSorts.orderZeros(values, from, end);
+    }
+
+    // Sorts values[left..right] (both inclusive)
+    private void quickSort(double[] a, int left, int right, int budget) {
+        if (right - left < INSERTION_CUTOFF) {
+            DoubleSorts.insertionSort(a, left, right + 1);
+            return;
+        }
+        if (budget == 0) {
+            Arrays.sort(a, left, right + 1);
+            return;
+        }
+
+        int third = (right - left) / 3;
+        DoubleSorts.swap(a, left, left + third);
+        DoubleSorts.swap(a, right, right - third);
+        if (a[left] > a[right]) {
+            DoubleSorts.swap(a, left, right);
+        }
+        double p = a[left];
+        double q = a[right];
+
+        // [left + 1, lt) < p, [lt, k) in [p, q], (gt, right - 1] > q
+        int lt = left + 1;
+        int gt = right - 1;
+        for (int k = lt; k <= gt; k++) {
+            if (a[k] < p) {
+                DoubleSorts.swap(a, k, lt++);
+            } else if (a[k] > q) {
+                while (k < gt && a[gt] > q) {
+                    gt--;
+                }
+                DoubleSorts.swap(a, k, gt--);
+                if (a[k] < p) {
+                    DoubleSorts.swap(a, k, lt++);
+                }
+            }
+        }
+        lt--;
+        gt++;
+        DoubleSorts.swap(a, left, lt);
+        DoubleSorts.swap(a, right, gt);
+
+        quickSort(a, left, lt - 1, budget - 1);
+        if (p < q) {
+            quickSort(a, lt + 1, gt - 1, budget - 1); // With equal pivots the middle part is all equal
+        }
+        quickSort(a, gt + 1, right, budget - 1);
+    }
+}
@@ -0,0 +1,375 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PriorityQueue;
+import java.util.function.DoubleConsumer;
+
+/**
+ * <strong>ExternalMergeSortStrategy</strong> - Sorts more values than fit in
+ * memory. The input is cut into runs of {@link #getRunSize()} values; each
+ * run is sorted in memory (by a <tt>DoubleSortStrategy</tt>, radix sort by
+ * default) and spilled to a temporary file. The runs are then merged k ways
+ * at once: a priority queue holds the next value of every run, and each run
+ * is read through its own buffered file channel.<br><br>
+ * <p>
+ * Values are stored in a compact binary format: 8 bytes per value, raw
+ * IEEE-754 in big-endian order, no header. Column files in that format can be
+ * sorted with {@link #sortFile} or reduced to their median with
+ * {@link #median(Path)}, which merges only up to the middle and never writes
+ * the sorted result. {@link #median(ValueSource)} takes values streamed from
+ * anywhere else, such as one column of a CSV file being scanned. If there
+ * are more runs than {@link #MAX_FAN_IN}, groups of runs are merged into
+ * longer runs first. The order is that of <tt>Double.compare</tt> (NaN
+ * last), and temporary files are deleted when a call finishes.<br><br>
+ * </p>
+ *
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      ExternalMergeSortStrategy sorter = new ExternalMergeSortStrategy();
+ *      sorter.sortFile(Path.of("column.bin"), Path.of("column-sorted.bin"));
+ *      double median = sorter.median(Path.of("column.bin"));
+ * </pre>
+ *
+ * Usage: Also a <tt>SortStrategy&lt;Double&gt;</tt>, so it can be used with
+ * <tt>SortUtils.sort</tt>; then only one run is held in memory besides the list.
+ * <br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class ExternalMergeSortStrategy implements SortStrategy<Double> {
+    public static final int DEFAULT_RUN_SIZE = 1 << 22; // 32 MiB of doubles per run
+    public static final int MAX_FAN_IN = 256;           // Runs merged at once
+    private static final int BUFFER_BYTES = 1 << 16;    // Read or write buffer per file
+
+    private final int runSize;
+    private final Path tempDir;
+    private final DoubleSortStrategy runSorter;
+
+    // Creates an external sort with runs of DEFAULT_RUN_SIZE values in the system temp directory
+    public ExternalMergeSortStrategy() {
+        this(DEFAULT_RUN_SIZE, Path.of(System.getProperty("java.io.tmpdir")), new RadixSortStrategy());
+    }
+
+    /**
+     * Creates an external sort.
+     *
+     * @param runSize Number of values sorted in memory at a time.
+     * @param tempDir Directory for the spilled runs.
+     * @param runSorter In-memory sort for each run.
+     */
+    public ExternalMergeSortStrategy(int runSize, Path tempDir, DoubleSortStrategy runSorter) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("Run size must be at least 1");
+        }
+        this.runSize = runSize;
+        this.tempDir = tempDir;
+        this.runSorter = runSorter;
+    }
+
+    /**
+     * Sorts a list of doubles through temporary files.
+     *
+     * @param list the list to be sorted
+     * @throws UncheckedIOException if the runs cannot be written or read
+     */
+    @Override
+    public void sort(List<Double> list) {
+        List<Path> runs = new ArrayList<>();
+        try {
+            spillRuns(sink -> list.forEach(sink::accept), runs);
+            ListIterator<Double> it = list.listIterator();
+            merge(runs, value -> {
+                it.next();
+                it.set(value);
+            }, Long.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * Sorts a binary column file into another file.
+     *
+     * @param input File of 8-byte big-endian doubles.
+     * @param output File to write the sorted values to, in the same format.
+     * @return The number of values sorted.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public long sortFile(Path input, Path output) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (ValueWriter out = new ValueWriter(output)) {
+            spillRuns(sink -> readColumn(input, sink), runs);
+            return merge(runs, out, Long.MAX_VALUE);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * Computes the median of a binary column file: the middle value in sorted
+     * order, or the average of the middle two for an even count.
+     *
+     * @param input File of 8-byte big-endian doubles.
+     * @return The median, or NaN for an empty file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public double median(Path input) throws IOException {
+        return median(sink -> readColumn(input, sink));
+    }
+
+    /**
+     * Computes the median of the values a source produces, holding at most
+     * one run of them in memory. The runs are merged only up to the middle.
+     *
+     * @param source Produces the values, for example from one column of a CSV file.
+     * @return The median, or NaN if the source produces no values.
+     * @throws IOException if the source or a run file cannot be read or written.
+     */
+    public double median(ValueSource source) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            long n = spillRuns(source, runs);
+            if (n == 0) {
+                return Double.NaN;
+            }
+            long lowerIndex = (n - 1) / 2;
+            long upperIndex = n / 2;
+            double[] middle = new double[2];
+            long[] position = {0};
+            merge(runs, value -> {
+                if (position[0] == lowerIndex) {
+                    middle[0] = value;
+                }
+                if (position[0] == upperIndex) {
+                    middle[1] = value;
+                }
+                position[0]++;
+            }, upperIndex + 1);
+            return (lowerIndex == upperIndex) ? middle[0] : (middle[0] + middle[1]) / 2.0;
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * Writes values as a binary column file, the format this sort reads.
+     *
+     * @param values The values to write.
+     * @param output The file to create or overwrite.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeColumn(double[] values, Path output) throws IOException {
+        try (ValueWriter out = new ValueWriter(output)) {
+            for (double value : values) {
+                out.accept(value);
+            }
+        }
+    }
+
+    // Passes every value of a binary column file to sink
+    private static void readColumn(Path input, DoubleConsumer sink) throws IOException {
+        try (ValueReader in = new ValueReader(input)) {
+            while (in.advance()) {
+                sink.accept(in.current);
+            }
+        }
+    }
+
+    // Cuts the source's values into sorted runs spilled to temp files (appended
+    //  to runs); returns the value count
+    private long spillRuns(ValueSource source, List<Path> runs) throws IOException {
+        double[] run = new double[runSize];
+        int[] n = {0};
+        long[] total = {0};
+        try {
+            source.forEach(value -> {
+                run[n[0]++] = value;
+                if (n[0] == runSize) {
+                    spill(run, n[0], runs);
+                    total[0] += n[0];
+                    n[0] = 0;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (n[0] > 0) {
+            spill(run, n[0], runs);
+            total[0] += n[0];
+        }
+        return total[0];
+    }
+
+    // Sorts run[0..n) and writes it to a new temp file, which is appended to runs
+    private void spill(double[] run, int n, List<Path> runs) {
+        runSorter.sort(run, 0, n);
+        try {
+            Path file = Files.createTempFile(tempDir, "run", ".bin");
+            runs.add(file);
+            try (ValueWriter out = new ValueWriter(file)) {
+                for (int i = 0; i < n; i++) {
+                    out.accept(run[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Merges the runs in sorted order into sink, stopping after limit values;
+    //  returns how many values were passed on
+    private long merge(List<Path> runs, DoubleConsumer sink, long limit) throws IOException {
+        // Too many runs to read at once: merge groups of them into longer runs first
+        while (runs.size() > MAX_FAN_IN) {
+            List<Path> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+            Path merged = Files.createTempFile(tempDir, "run", ".bin");
+            runs.add(merged);
+            try (ValueWriter out = new ValueWriter(merged)) {
+                mergeOnce(group, out, Long.MAX_VALUE);
+            }
+            runs.removeAll(group);
+            deleteAll(group);
+        }
+        return mergeOnce(runs, sink, limit);
+    }
+
+    private long mergeOnce(List<Path> runs, DoubleConsumer sink, long limit) throws IOException {
+        PriorityQueue<ValueReader> queue = new PriorityQueue<>(Math.max(1, runs.size()),
+                (a, b) -> Double.compare(a.current, b.current));
+        List<ValueReader> readers = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                ValueReader reader = new ValueReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            long count = 0;
+            while (count < limit && !queue.isEmpty()) {
+                ValueReader reader = queue.poll();
+                sink.accept(reader.current);
+                count++;
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            return count;
+        } finally {
+            for (ValueReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Returns the number of values sorted in memory at a time
+    public int getRunSize() {
+        return runSize;
+    }
+
+    /**
+     * Produces a stream of values too large to hold in memory, passing each
+     * one to a sink, for example while scanning a file.
+     */
+    public interface ValueSource {
+        void forEach(DoubleConsumer sink) throws IOException;
+    }
+
+    // Reads a binary column file through one buffer; current holds the value last advanced to
+    private static class ValueReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        double current;
+
+        ValueReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.flip(); // Start empty
+        }
+
+        // Moves to the next value; returns false at the end of the file
+        boolean advance() throws IOException {
+            if (buffer.remaining() < Double.BYTES) {
+                buffer.compact();
+                while (buffer.position() < Double.BYTES && channel.read(buffer) >= 0) {
+                    // Keep reading until a whole value is buffered or the file ends
+                }
+                buffer.flip();
+                if (buffer.remaining() < Double.BYTES) {
+                    return false;
+                }
+            }
+            current = buffer.getDouble();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Writes values to a binary column file through one buffer
+    private static class ValueWriter implements DoubleConsumer, AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        ValueWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        @Override
+        public void accept(double value) {
+            if (buffer.remaining() < Double.BYTES) {
+                flush();
+            }
+            buffer.putDouble(value);
+        }
+
+        private void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
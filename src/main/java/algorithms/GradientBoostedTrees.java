@@ -0,0 +1,274 @@
+package algorithms;
+
+import datastructures.Dataset;
+import datastructures.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <strong>GradientBoostedTrees</strong> - A regression model made of many
+ * shallow decision trees that are trained one after another. The model
+ * starts from the mean target value; each round fits a <tt>DecisionTree</tt>
+ * (with mean-valued leaves) to what the model so far still gets wrong, the
+ * residuals, and adds a fraction of it - the learning rate - to the
+ * model.<br><br>
+ * <p>
+ * A random part of the rows is held out for validation. Training stops early
+ * once the squared error on those rows has not improved for a number of
+ * rounds, and the model keeps the rounds up to its best validation error.
+ * </p>
+ * <p>
+ * The residuals live in one primitive array that is updated in place after
+ * every round, and that array is the target column of a <tt>Dataset</tt>
+ * sharing the feature columns of the training data. The row index array and
+ * the tree builder's scratch buffer are also allocated once, so a round
+ * allocates nothing in proportion to the number of rows - only the new tree.
+ * <br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      GradientBoostedTrees model = new GradientBoostedTrees(200, 2);
+ *      model.setLearningRate(0.1);
+ *      model.train(data, features, target);
+ *      double prediction = model.predict(row);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class GradientBoostedTrees implements Predictor {
+    private final int maxRounds;
+    private final int maxDepth;
+    private double learningRate = 0.1;
+    private double validationFraction = 0.1;  // Share of rows held out for early stopping; 0 disables it
+    private int earlyStoppingRounds = 10;     // Rounds without improvement before training stops
+    private long seed = 0;
+
+    private volatile Model model;
+
+    // A trained model, published as one object so readers never see a mix of two trainings
+    private static class Model {
+        final List<String> features;
+        final double bias;
+        final double learningRate;
+        final CompiledTree[] trees;
+
+        Model(List<String> features, double bias, double learningRate, CompiledTree[] trees) {
+            this.features = features;
+            this.bias = bias;
+            this.learningRate = learningRate;
+            this.trees = trees;
+        }
+    }
+
+    /**
+     * Constructs an untrained model.
+     * <br><br>
+     * @param maxRounds Largest number of trees to train.
+     * @param maxDepth Maximum depth of each tree.
+     */
+    public GradientBoostedTrees(int maxRounds, int maxDepth) {
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException("Boosting needs at least one round");
+        }
+        this.maxRounds = maxRounds;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Trains the model, replacing any earlier training once it finishes.
+     *
+     * @param data The columnar dataset to train on; it is only read.
+     * @param features List of feature names the trees may split on.
+     * @param target The name of the target variable for prediction.
+     */
+    public void train(Dataset data, List<String> features, String target) {
+        int n = data.numRows();
+        int targetIndex = data.indexOf(target);
+        if (targetIndex < 0) {
+            throw new IllegalArgumentException("Unknown target: " + target);
+        }
+        List<String> featureList = List.copyOf(features);
+        int k = featureList.size();
+
+        // The trees are fitted to a dataset of the shared feature columns plus
+        //  the residual column, which is rewritten in place every round
+        String residualName = "residual";
+        while (featureList.contains(residualName)) {
+            residualName += "'";
+        }
+        double[] residuals = new double[n];
+        double[][] columns = new double[k + 1][];
+        for (int f = 0; f < k; f++) {
+            int column = data.indexOf(featureList.get(f));
+            if (column < 0) {
+                throw new IllegalArgumentException("Unknown feature: " + featureList.get(f));
+            }
+            columns[f] = data.getColumn(column);
+        }
+        columns[k] = residuals;
+        List<String> header = new ArrayList<>(featureList);
+        header.add(residualName);
+        Dataset residualData = new Dataset(header, columns, n);
+        double[][] featureColumns = Arrays.copyOf(columns, k);
+
+        // Hold out a random part of the rows for early stopping
+        int[] order = shuffledRows(n);
+        int numValidation = (int) (n * validationFraction);
+        int[] validationRows = Arrays.copyOfRange(order, 0, numValidation);
+        int[] trainingRows = Arrays.copyOfRange(order, numValidation, n);
+        if (trainingRows.length == 0) {
+            throw new IllegalArgumentException("No rows left to train on");
+        }
+
+        double[] y = data.getColumn(targetIndex);
+        double bias = 0;
+        for (int row : trainingRows) {
+            bias += y[row];
+        }
+        bias /= trainingRows.length;
+        for (int i = 0; i < n; i++) {
+            residuals[i] = y[i] - bias;
+        }
+
+        DecisionTree learner = new DecisionTree();
+        learner.setLeafValue(DecisionTree.LeafValue.MEAN);
+        double[] scratch = new double[trainingRows.length];
+        double[] update = new double[n];
+
+        List<CompiledTree> trees = new ArrayList<>();
+        double bestLoss = meanSquare(residuals, validationRows);
+        int bestRounds = 0;
+        for (int round = 0; round < maxRounds; round++) {
+            TreeNode root = learner.buildTree(residualData, trainingRows, scratch, featureList, residualName, maxDepth);
+            CompiledTree tree = CompiledTree.compile(root, featureList);
+            trees.add(tree);
+
+            BatchPredictor.predictBatch(tree, featureColumns, n, update);
+            for (int i = 0; i < n; i++) {
+                residuals[i] -= learningRate * update[i];
+            }
+
+            if (numValidation == 0) {
+                bestRounds = trees.size();
+                continue;
+            }
+            double loss = meanSquare(residuals, validationRows);
+            if (loss < bestLoss) {
+                bestLoss = loss;
+                bestRounds = trees.size();
+            } else if (trees.size() - bestRounds >= earlyStoppingRounds) {
+                break;
+            }
+        }
+
+        this.model = new Model(featureList, bias, learningRate,
+                trees.subList(0, bestRounds).toArray(new CompiledTree[0]));
+    }
+
+    // Returns 0..n-1 in an order shuffled by the seed
+    private int[] shuffledRows(int n) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    // Returns the mean squared residual over the given rows, or infinity if there are none
+    private static double meanSquare(double[] residuals, int[] rows) {
+        if (rows.length == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double sum = 0;
+        for (int row : rows) {
+            sum += residuals[row] * residuals[row];
+        }
+        return sum / rows.length;
+    }
+
+    /**
+     * Predicts the target value for one row: the mean target plus the
+     * learning rate times each tree's prediction.
+     *
+     * @param row Feature values, in the order of {@link #getFeatures()}.
+     * @return The model's prediction.
+     */
+    @Override
+    public double predict(double[] row) {
+        Model current = trained();
+        double prediction = current.bias;
+        for (CompiledTree tree : current.trees) {
+            prediction += current.learningRate * tree.predict(row);
+        }
+        return prediction;
+    }
+
+    private Model trained() {
+        Model current = model;
+        if (current == null) {
+            throw new IllegalStateException("The model has not been trained");
+        }
+        return current;
+    }
+
+    // Sets the fraction of each tree's prediction added to the model
+    public void setLearningRate(double learningRate) {
+        if (!(learningRate > 0 && learningRate <= 1)) {
+            throw new IllegalArgumentException("Learning rate must be in (0, 1]");
+        }
+        this.learningRate = learningRate;
+    }
+
+    // Sets the share of rows held out to decide when to stop; 0 trains every round
+    public void setValidationFraction(double validationFraction) {
+        if (!(validationFraction >= 0 && validationFraction < 1)) {
+            throw new IllegalArgumentException("Validation fraction must be in [0, 1)");
+        }
+        this.validationFraction = validationFraction;
+    }
+
+    // Sets how many rounds without a better validation error end training
+    public void setEarlyStoppingRounds(int earlyStoppingRounds) {
+        if (earlyStoppingRounds < 1) {
+            throw new IllegalArgumentException("Early stopping needs at least one round");
+        }
+        this.earlyStoppingRounds = earlyStoppingRounds;
+    }
+
+    // Sets the seed that picks the validation rows
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Returns the feature names the model was trained with
+    public List<String> getFeatures() {
+        return trained().features;
+    }
+
+    // Returns the starting prediction, the mean target of the training rows
+    public double getBias() {
+        return trained().bias;
+    }
+
+    // Returns the learning rate the model was trained with
+    public double getLearningRate() {
+        return trained().learningRate;
+    }
+
+    // Returns the trees kept after early stopping, in training order
+    public List<CompiledTree> getTrees() {
+        return List.of(trained().trees);
+    }
+}
@@ -0,0 +1,435 @@
+package algorithms;
+
+import datastructures.TreeNode;
+import utility.CorrelationSums;
+import utility.QuantileSketch;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <strong>HoeffdingTree</strong> - A regression tree that learns from a
+ * stream of rows, one row at a time, and never needs the whole dataset in
+ * memory. It can predict at any moment with what it has learned so
+ * far.<br><br>
+ * <p>
+ * The tree starts as a single leaf. Each row is routed to its leaf, which
+ * keeps the sums behind the correlation of every candidate feature with the
+ * target ({@link CorrelationSums}) and a {@link QuantileSketch} of each
+ * candidate's values. Every {@link #setGracePeriod grace period} of rows the
+ * leaf checks whether it can split: as in <tt>DecisionTree</tt>, the feature
+ * with the highest absolute correlation wins (ties go to the lower
+ * alphabetical name) and the threshold is its median, here estimated by its
+ * sketch. The leaf splits once the Hoeffding bound says the winner would
+ * still win on the whole stream: with probability 1 - {@link #setDelta delta}
+ * the true score lies within
+ * <tt>epsilon = sqrt(ln(1 / delta) / (2n))</tt> of the score over n rows
+ * (scores lie in [0, 1]), so the split is made when the best feature leads
+ * the second by more than epsilon, or when epsilon has shrunk below the
+ * {@link #setTieThreshold tie threshold} and the two are as good as equal.
+ * The new leaves start with empty statistics and, as in
+ * <tt>DecisionTree</tt>, without the feature just used. A leaf predicts the
+ * mean target of its rows, or its parent's until it has rows of its own.<br><br>
+ * </p>
+ * <p>
+ * A leaf holds three sums and a sketch of about three times the
+ * {@link #setSketchSize sketch size} values per candidate feature, so memory
+ * per leaf is bounded no matter how long the stream runs, and the depth is
+ * bounded by the maximum depth. Rows holding a NaN are skipped.<br><br>
+ * </p>
+ * <p>
+ * One thread learns; any number of threads may predict at the same time.
+ * A split is built whole and then linked in with a single volatile write,
+ * and leaf means are volatile, so a prediction always walks a consistent
+ * tree. {@link #toTreeNode()} and {@link #compile()} take a snapshot that
+ * can be drawn, saved or published to a <tt>ModelRegistry</tt>.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      HoeffdingTree tree = new HoeffdingTree(features, 6);
+ *      tree.learn(rows);                 // Rows hold the features, then the target
+ *      double prediction = tree.predict(row);
+ *      registry.publish(tree.compile());
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class HoeffdingTree implements Predictor {
+    public static final double DEFAULT_DELTA = 1e-7;
+    public static final int DEFAULT_GRACE_PERIOD = 200;
+    public static final double DEFAULT_TIE_THRESHOLD = 0.05;
+    private static final int LEAF = -1; // Feature index that marks a leaf
+
+    private final List<String> features;
+    private final int maxDepth;
+    private final double[] buffer; // Reused by learn(features, target)
+    private volatile Node root;
+    private double delta = DEFAULT_DELTA;
+    private int gracePeriod = DEFAULT_GRACE_PERIOD;
+    private double tieThreshold = DEFAULT_TIE_THRESHOLD;
+    private int sketchSize = QuantileSketch.DEFAULT_K;
+    private SplittableRandom random = new SplittableRandom(0);
+    private long rowsLearned;
+    private int leafCount = 1;
+
+    // A node of the live tree. Split nodes only change by having a child
+    //  leaf replaced with a new split; leaves only change their mean
+    private static final class Node {
+        final int feature;        // Index into features; LEAF for a leaf
+        final double threshold;
+        volatile Node left;
+        volatile Node right;
+        volatile double value;    // Mean target of a leaf's rows
+        final Leaf stats;         // Learning state of a leaf; read by the learner only
+
+        // Creates a leaf
+        Node(Leaf stats, double value) {
+            this.feature = LEAF;
+            this.threshold = Double.NaN;
+            this.stats = stats;
+            this.value = value;
+        }
+
+        // Creates a split; its children are linked in before it is published
+        Node(int feature, double threshold, Node left, Node right) {
+            this.feature = feature;
+            this.threshold = threshold;
+            this.left = left;
+            this.right = right;
+            this.stats = null;
+        }
+    }
+
+    // What a leaf knows about its rows: the correlation sums and a quantile
+    //  sketch per feature, over its candidate features only. A leaf at
+    //  the maximum depth, or with no candidates left, keeps just the count
+    //  and the target sum.
+    private static final class Leaf {
+        final int depth;
+        final int[] candidates;   // Feature indices the leaf may split on
+        final CorrelationSums sums;
+        QuantileSketch[] sketches; // One per candidate; created on the first row
+        final double[] row;       // The candidates and target of the current row
+        long count;
+        double targetSum;
+
+        Leaf(int depth, int[] candidates) {
+            this.depth = depth;
+            this.candidates = candidates;
+            int width = candidates.length + 1;
+            int[] columns = new int[candidates.length];
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = c;
+            }
+            this.sums = (candidates.length > 0) ? new CorrelationSums(columns, candidates.length) : null;
+            this.row = new double[width];
+        }
+    }
+
+    /**
+     * Creates an empty tree. It predicts NaN until it has learned a row.
+     *
+     * @param features Feature names, in the order rows hold them.
+     * @param maxDepth The maximum depth of the tree; 0 keeps a single leaf.
+     */
+    public HoeffdingTree(List<String> features, int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Max depth cannot be negative");
+        }
+        this.features = List.copyOf(features);
+        this.maxDepth = maxDepth;
+        this.buffer = new double[features.size() + 1];
+        this.root = newLeaf(0, allFeatures(), Double.NaN);
+    }
+
+    /**
+     * Learns from one row.
+     *
+     * @param row The feature values in the order of {@link #getFeatures()},
+     *            followed by the target; at least features + 1 values.
+     * @return True if the row made a leaf split.
+     */
+    public boolean learn(double[] row) {
+        int numFeatures = features.size();
+        if (row.length <= numFeatures) {
+            throw new IllegalArgumentException("Row holds " + row.length + " values but "
+                    + (numFeatures + 1) + " are needed");
+        }
+        for (int j = 0; j <= numFeatures; j++) {
+            if (Double.isNaN(row[j])) {
+                return false;
+            }
+        }
+        rowsLearned++;
+
+        // Route the row to its leaf, remembering the split that leads there
+        Node parent = null;
+        Node node = root;
+        while (node.feature != LEAF) {
+            parent = node;
+            node = (row[node.feature] <= node.threshold) ? node.left : node.right;
+        }
+
+        Leaf leaf = node.stats;
+        double target = row[numFeatures];
+        leaf.count++;
+        leaf.targetSum += target;
+        node.value = leaf.targetSum / leaf.count;
+        if (leaf.sums == null) {
+            return false;
+        }
+
+        double[] values = leaf.row;
+        for (int c = 0; c < leaf.candidates.length; c++) {
+            values[c] = row[leaf.candidates[c]];
+        }
+        values[leaf.candidates.length] = target;
+        leaf.sums.add(values);
+        if (leaf.sketches == null) {
+            leaf.sketches = new QuantileSketch[leaf.candidates.length];
+            for (int c = 0; c < leaf.sketches.length; c++) {
+                leaf.sketches[c] = new QuantileSketch(sketchSize, random.nextLong());
+            }
+        }
+        for (int c = 0; c < leaf.candidates.length; c++) {
+            leaf.sketches[c].add(values[c]);
+        }
+
+        if (leaf.count % gracePeriod != 0) {
+            return false;
+        }
+        Node split = trySplit(node);
+        if (split == null) {
+            return false;
+        }
+        // Link the finished split in place of the leaf; one volatile write
+        if (parent == null) {
+            root = split;
+        } else if (parent.left == node) {
+            parent.left = split;
+        } else {
+            parent.right = split;
+        }
+        leafCount++;
+        return true;
+    }
+
+    /**
+     * Learns from one row given as features and target. Reuses an internal
+     * buffer, like every learning method only safe on the learning thread.
+     *
+     * @param featureValues The feature values in the order of {@link #getFeatures()}.
+     * @param target The target value.
+     * @return True if the row made a leaf split.
+     */
+    public boolean learn(double[] featureValues, double target) {
+        if (featureValues.length < features.size()) {
+            throw new IllegalArgumentException("Row holds " + featureValues.length + " features but "
+                    + features.size() + " are needed");
+        }
+        System.arraycopy(featureValues, 0, buffer, 0, features.size());
+        buffer[features.size()] = target;
+        return learn(buffer);
+    }
+
+    /**
+     * Learns from every row an iterator yields, until it runs out. For a
+     * stream, pass <tt>stream.iterator()</tt>. The arrays may be reused by
+     * the iterator between rows.
+     *
+     * @param rows Rows holding the features, then the target.
+     * @return The number of splits made.
+     */
+    public int learn(Iterator<double[]> rows) {
+        int splits = 0;
+        while (rows.hasNext()) {
+            if (learn(rows.next())) {
+                splits++;
+            }
+        }
+        return splits;
+    }
+
+    // Returns a split for the leaf if the Hoeffding bound allows one, or null
+    private Node trySplit(Node node) {
+        Leaf leaf = node.stats;
+        double[] correlations = leaf.sums.correlations();
+        int best = DecisionTree.selectBestFeature(correlations, leaf.candidates, features);
+        if (best < 0) {
+            return null; // Every candidate is constant over the leaf's rows
+        }
+        double bestScore = Math.abs(correlations[best]);
+        double secondScore = 0; // The runner-up, which a tie with the best counts as
+        for (int c = 0; c < correlations.length; c++) {
+            if (c != best && !Double.isNaN(correlations[c])) {
+                secondScore = Math.max(secondScore, Math.abs(correlations[c]));
+            }
+        }
+        double epsilon = Math.sqrt(Math.log(1 / delta) / (2.0 * leaf.count));
+        if (bestScore - secondScore <= epsilon && epsilon >= tieThreshold) {
+            return null;
+        }
+
+        // The threshold is the median, as long as some rows lie above it
+        QuantileSketch sketch = leaf.sketches[best];
+        double threshold = sketch.median();
+        if (!(threshold < sketch.getMax())) {
+            return null;
+        }
+
+        // The children split on the remaining candidates; until they see rows
+        //  of their own they predict this leaf's mean
+        int[] remaining = new int[leaf.candidates.length - 1];
+        for (int c = 0, k = 0; c < leaf.candidates.length; c++) {
+            if (c != best) {
+                remaining[k++] = leaf.candidates[c];
+            }
+        }
+        return new Node(leaf.candidates[best], threshold,
+                newLeaf(leaf.depth + 1, remaining, node.value),
+                newLeaf(leaf.depth + 1, remaining, node.value));
+    }
+
+    private Node newLeaf(int depth, int[] candidates, double value) {
+        if (depth >= maxDepth) {
+            candidates = new int[0];
+        }
+        return new Node(new Leaf(depth, candidates), value);
+    }
+
+    private int[] allFeatures() {
+        int[] all = new int[features.size()];
+        for (int j = 0; j < all.length; j++) {
+            all[j] = j;
+        }
+        return all;
+    }
+
+    /**
+     * Predicts with the tree as learned so far. Safe to call from any
+     * thread while another thread learns.
+     *
+     * @param row Feature values, in the order of {@link #getFeatures()}.
+     * @return The mean target of the leaf the row reaches, or NaN before
+     * the tree has learned anything.
+     */
+    @Override
+    public double predict(double[] row) {
+        Node node = root;
+        while (node.feature != LEAF) {
+            node = (row[node.feature] <= node.threshold) ? node.left : node.right;
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns a snapshot of the tree as learned so far, as
+     * <tt>TreeNode</tt>s. Safe to call while another thread learns.
+     *
+     * @return The root of the snapshot.
+     */
+    public TreeNode toTreeNode() {
+        return toTreeNode(root);
+    }
+
+    private TreeNode toTreeNode(Node node) {
+        if (node.feature == LEAF) {
+            return new TreeNode(node.value);
+        }
+        return new TreeNode(features.get(node.feature), node.threshold,
+                toTreeNode(node.left), toTreeNode(node.right), null);
+    }
+
+    // Returns an immutable snapshot of the tree as learned so far, as a flat-array CompiledTree
+    public CompiledTree compile() {
+        return CompiledTree.compile(toTreeNode(), features);
+    }
+
+    // Sets the probability that a split differs from the one the whole stream would pick;
+    //  smaller values wait for more rows before splitting
+    public void setDelta(double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Delta must be between 0 and 1");
+        }
+        this.delta = delta;
+    }
+
+    // Returns the probability that a split differs from the one the whole stream would pick
+    public double getDelta() {
+        return this.delta;
+    }
+
+    // Sets how many rows a leaf learns between checks for a split
+    public void setGracePeriod(int gracePeriod) {
+        if (gracePeriod < 1) {
+            throw new IllegalArgumentException("Grace period must be at least 1");
+        }
+        this.gracePeriod = gracePeriod;
+    }
+
+    // Returns how many rows a leaf learns between checks for a split
+    public int getGracePeriod() {
+        return this.gracePeriod;
+    }
+
+    // Sets the bound below which two nearly equal features are treated as tied
+    //  and the leaf splits on the better one anyway
+    public void setTieThreshold(double tieThreshold) {
+        if (tieThreshold < 0) {
+            throw new IllegalArgumentException("Tie threshold cannot be negative");
+        }
+        this.tieThreshold = tieThreshold;
+    }
+
+    // Returns the bound below which two nearly equal features are treated as tied
+    public double getTieThreshold() {
+        return this.tieThreshold;
+    }
+
+    // Sets the size parameter of the quantile sketches that find a leaf's
+    //  median threshold; leaves that have already seen rows keep their size
+    public void setSketchSize(int sketchSize) {
+        if (sketchSize < 8) {
+            throw new IllegalArgumentException("Sketch size must be at least 8");
+        }
+        this.sketchSize = sketchSize;
+    }
+
+    // Returns the size parameter of the leaves' quantile sketches
+    public int getSketchSize() {
+        return this.sketchSize;
+    }
+
+    // Sets the seed of the quantile sketches; the same seed and stream give the same tree
+    public void setRandomSeed(long randomSeed) {
+        this.random = new SplittableRandom(randomSeed);
+    }
+
+    // Returns the feature names, in the order rows hold them
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    // Returns the maximum depth of the tree
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    // Returns the number of rows learned, not counting skipped rows
+    public long getRowsLearned() {
+        return this.rowsLearned;
+    }
+
+    // Returns the number of leaves
+    public int getLeafCount() {
+        return this.leafCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HoeffdingTree " + features + ", " + leafCount + " leaves after " + rowsLearned + " rows";
+    }
+}
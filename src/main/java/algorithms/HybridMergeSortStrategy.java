@@ -0,0 +1,74 @@
+package algorithms;
+
+/**
+ * <strong>HybridMergeSortStrategy</strong> - Sorts a <tt>double[]</tt> range
+ * with merge sort, finishing short ranges with insertion sort, which is
+ * faster than recursing further on a handful of values.<br><br>
+ * <p>
+ * One buffer, half the range long, is allocated per call. Only the left half
+ * is copied out before a merge, and two halves that are already in order
+ * are not merged at all, so sorted input takes linear time. Stable.
+ * <br><br>
+ * </p>
+ *
+ * Usage: Instantiate and use with <tt>SortUtils.sort</tt> to sort arrays.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class HybridMergeSortStrategy implements DoubleSortStrategy {
+    public static final int DEFAULT_CUTOFF = 32;
+    private final int cutoff;
+
+    // Creates a merge sort that insertion-sorts ranges of DEFAULT_CUTOFF values or fewer
+    public HybridMergeSortStrategy() {
+        this(DEFAULT_CUTOFF);
+    }
+
+    // Creates a merge sort that insertion-sorts ranges of cutoff values or fewer
+    public HybridMergeSortStrategy(int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("Cutoff must be at least 1");
+        }
+        this.cutoff = cutoff;
+    }
+
+    @Override
+    public void sort(double[] values, int from, int to) {
+        int end = DoubleSorts.moveNaNsToEnd(values, from, to);
+        if (end - from < 2) {
+            return;
+        }
+        double[] aux = new double[(end - from + 1) / 2];
+        mergeSort(values, aux, from, end);
+        DoubleSorts.orderZeros(values, from, end);
+    }
+
+    // Sorts values[lo..hi); aux holds at least half of the range
+    private void mergeSort(double[] a, double[] aux, int lo, int hi) {
+        if (hi - lo <= cutoff) {
+            DoubleSorts.insertionSort(a, lo, hi);
+            return;
+        }
+        int mid = (lo + hi + 1) >>> 1; // The left half, ceil(n/2), is the longer one; aux is sized to hold it
+        mergeSort(a, aux, lo, mid);
+        mergeSort(a, aux, mid, hi);
+        if (a[mid - 1] <= a[mid]) {
+            return; // Already in order
+        }
+
+        // Copy the left half out and merge it with the right half, which stays in place
+        int leftLength = mid - lo;
+        System.arraycopy(a, lo, aux, 0, leftLength);
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        while (i < leftLength && j < hi) {
+            a[k++] = (a[j] < aux[i]) ? a[j++] : aux[i++];
+        }
+        while (i < leftLength) {
+            a[k++] = aux[i++];
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package algorithms;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <strong>MappedModel</strong> - A tree or ensemble loaded by
+ * <tt>ModelFile.load</tt>, which predicts by walking the node array of the
+ * memory-mapped model file in place. Nothing is deserialized: a node is read
+ * from the file only when a prediction reaches it, so even a large model is
+ * ready as soon as it is mapped and checked.<br><br>
+ * <p>
+ * Walking a tree works as in <tt>CompiledTree</tt>: a value less than or
+ * equal to the threshold goes left, and NaN goes right. The trees are
+ * combined in the same order and with the same arithmetic as the model that
+ * was saved, so predictions match it exactly. The mapping is only read, with
+ * absolute positions, so one instance can be shared by any number of scoring
+ * threads.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class MappedModel implements Predictor {
+    private static final int THRESHOLD = 0; // Byte offsets within a node
+    private static final int FEATURE = 8;
+    private static final int LEFT = 12;
+    private static final int RIGHT = 16;
+
+    private final List<String> features;
+    private final int[] roots;
+    private final ByteBuffer nodes;
+    private final int numNodes;
+    private final int combine;
+    private final double bias;
+    private final double weight;
+
+    // Wraps a checked node array; ModelFile.load is the way to create one
+    MappedModel(List<String> features, int[] roots, ByteBuffer nodes, int numNodes,
+                int combine, double bias, double weight) {
+        this.features = List.copyOf(features);
+        this.roots = roots;
+        this.nodes = nodes;
+        this.numNodes = numNodes;
+        this.combine = combine;
+        this.bias = bias;
+        this.weight = weight;
+    }
+
+    /**
+     * Predicts the target value for one row. Allocates nothing.
+     *
+     * @param row Feature values, in the order of {@link #getFeatures()}.
+     * @return The combined prediction of the trees.
+     */
+    @Override
+    public double predict(double[] row) {
+        if (combine == ModelFile.COMBINE_MEAN) {
+            double sum = 0;
+            for (int root : roots) {
+                sum += nodes.getDouble(leaf(root, row) + THRESHOLD);
+            }
+            return bias + sum / roots.length;
+        }
+        double prediction = bias;
+        for (int root : roots) {
+            prediction += weight * nodes.getDouble(leaf(root, row) + THRESHOLD);
+        }
+        return prediction;
+    }
+
+    /**
+     * Predicts the target value for one row of a column-major matrix.
+     *
+     * @param columns One array per feature, in the order of {@link #getFeatures()}.
+     * @param row The row to score.
+     * @return The combined prediction of the trees.
+     */
+    public double predict(double[][] columns, int row) {
+        if (combine == ModelFile.COMBINE_MEAN) {
+            double sum = 0;
+            for (int root : roots) {
+                sum += nodes.getDouble(leaf(root, columns, row) + THRESHOLD);
+            }
+            return bias + sum / roots.length;
+        }
+        double prediction = bias;
+        for (int root : roots) {
+            prediction += weight * nodes.getDouble(leaf(root, columns, row) + THRESHOLD);
+        }
+        return prediction;
+    }
+
+    // Walks one tree and returns the byte offset of the leaf reached
+    private int leaf(int root, double[] row) {
+        int offset = root * ModelFile.NODE_BYTES;
+        int feature;
+        while ((feature = nodes.getInt(offset + FEATURE)) != ModelFile.LEAF) {
+            int child = (row[feature] <= nodes.getDouble(offset + THRESHOLD))
+                    ? nodes.getInt(offset + LEFT) : nodes.getInt(offset + RIGHT);
+            offset = child * ModelFile.NODE_BYTES;
+        }
+        return offset;
+    }
+
+    private int leaf(int root, double[][] columns, int row) {
+        int offset = root * ModelFile.NODE_BYTES;
+        int feature;
+        while ((feature = nodes.getInt(offset + FEATURE)) != ModelFile.LEAF) {
+            int child = (columns[feature][row] <= nodes.getDouble(offset + THRESHOLD))
+                    ? nodes.getInt(offset + LEFT) : nodes.getInt(offset + RIGHT);
+            offset = child * ModelFile.NODE_BYTES;
+        }
+        return offset;
+    }
+
+    /**
+     * Copies one tree out of the file onto the heap, for example to show it
+     * with <tt>TreeVisualizer</tt> via <tt>toTreeNode()</tt>.
+     *
+     * @param tree The tree's position in the model, from 0.
+     * @return The tree, over this model's features.
+     */
+    public CompiledTree getTree(int tree) {
+        int base = roots[tree];
+        int end = (tree + 1 < roots.length) ? roots[tree + 1] : numNodes;
+        int n = end - base;
+        int[] featureIndex = new int[n];
+        double[] threshold = new double[n];
+        int[] left = new int[n];
+        int[] right = new int[n];
+        double[] value = new double[n];
+        for (int i = 0; i < n; i++) {
+            int offset = (base + i) * ModelFile.NODE_BYTES;
+            featureIndex[i] = nodes.getInt(offset + FEATURE);
+            if (featureIndex[i] == ModelFile.LEAF) {
+                left[i] = ModelFile.LEAF;
+                right[i] = ModelFile.LEAF;
+                value[i] = nodes.getDouble(offset + THRESHOLD);
+            } else {
+                threshold[i] = nodes.getDouble(offset + THRESHOLD);
+                left[i] = nodes.getInt(offset + LEFT) - base;
+                right[i] = nodes.getInt(offset + RIGHT) - base;
+            }
+        }
+        return new CompiledTree(features, featureIndex, threshold, left, right, value);
+    }
+
+    // Copies every tree onto the heap, in model order
+    public List<CompiledTree> getTrees() {
+        List<CompiledTree> trees = new ArrayList<>(roots.length);
+        for (int t = 0; t < roots.length; t++) {
+            trees.add(getTree(t));
+        }
+        return trees;
+    }
+
+    // Returns the feature names, in the order rows are given in
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    // Returns the number of trees
+    public int getTreeCount() {
+        return roots.length;
+    }
+
+    // Returns the number of nodes of all trees, leaves included
+    public int getNodeCount() {
+        return numNodes;
+    }
+
+    // Returns ModelFile.COMBINE_SUM or ModelFile.COMBINE_MEAN
+    public int getCombine() {
+        return combine;
+    }
+
+    // Returns the value added to the combined trees
+    public double getBias() {
+        return bias;
+    }
+
+    // Returns the factor each tree is multiplied by when the trees are summed
+    public double getWeight() {
+        return weight;
+    }
+}
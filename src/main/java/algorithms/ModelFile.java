@@ -0,0 +1,294 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <strong>ModelFile</strong> - Saves trained trees and ensembles in a compact,
+ * versioned binary format, and loads them back as a {@link MappedModel} that
+ * predicts straight from the memory-mapped file.<br><br>
+ * <p>
+ * A model file holds one or more trees that share a feature list and are
+ * combined as <tt>bias + weight * (sum of trees)</tt>, or as
+ * <tt>bias + (sum of trees) / count</tt> for a forest. That covers a single
+ * <tt>CompiledTree</tt>, a <tt>RandomForest</tt> and
+ * <tt>GradientBoostedTrees</tt>, and a loaded model predicts exactly what
+ * the saved one did. All numbers are little-endian:
+ * </p>
+ * <ul>
+ * <li>Header, 40 bytes: magic <tt>"DTMF"</tt>, format version, combine mode
+ * (0 weighted sum, 1 mean), feature count, tree count and node count as
+ * ints, then bias and weight as doubles.</li>
+ * <li>Feature dictionary: for each feature, the length of its UTF-8 name as
+ * an int followed by the name's bytes; padded with zeros to a multiple of 8.</li>
+ * <li>Tree directory: the node index of each tree's root, as ints; padded to
+ * a multiple of 8.</li>
+ * <li>Node array: 24 bytes per node, trees one after another in pre-order.
+ * Each node holds its threshold (or a leaf's value) as a double, then its
+ * feature index (-1 for a leaf), left child and right child as ints, then 4
+ * zero bytes. Child positions index the whole node array.</li>
+ * <li>Checksum: the CRC32 of every byte before it, as an int.</li>
+ * </ul>
+ * <p>
+ * Loading checks the magic, the version, the checksum and that every child
+ * comes after its parent in the same tree, so a damaged file is rejected with an
+ * <tt>IOException</tt> instead of looping or reading out of bounds. Only the
+ * feature names and tree roots are copied onto the heap.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      ModelFile.save(forest, Path.of("forest.model"));
+ *      MappedModel model = ModelFile.load(Path.of("forest.model"));
+ *      double prediction = model.predict(row);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public final class ModelFile {
+    public static final int MAGIC = 0x464D5444; // "DTMF" when read little-endian
+    public static final int VERSION = 1;
+    public static final int COMBINE_SUM = 0;    // bias + weight * sum of trees
+    public static final int COMBINE_MEAN = 1;   // bias + sum of trees / tree count
+
+    static final int HEADER_BYTES = 40;
+    static final int NODE_BYTES = 24;
+    static final int LEAF = -1;
+
+    private ModelFile() {
+    }
+
+    /**
+     * Saves a trained model. Supported are <tt>CompiledTree</tt>,
+     * <tt>RandomForest</tt>, <tt>GradientBoostedTrees</tt> and
+     * <tt>MappedModel</tt>.
+     *
+     * @param model The trained model.
+     * @param file The file to create or overwrite.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(Predictor model, Path file) throws IOException {
+        if (model instanceof CompiledTree) {
+            CompiledTree tree = (CompiledTree) model;
+            save(tree.getFeatures(), List.of(tree), COMBINE_SUM, 0.0, 1.0, file);
+        } else if (model instanceof RandomForest) {
+            RandomForest forest = (RandomForest) model;
+            List<CompiledTree> trees = forest.getTrees();
+            if (trees == null) {
+                throw new IllegalStateException("The forest has not been trained");
+            }
+            save(forest.getFeatures(), trees, COMBINE_MEAN, 0.0, 1.0, file);
+        } else if (model instanceof GradientBoostedTrees) {
+            GradientBoostedTrees boosted = (GradientBoostedTrees) model;
+            save(boosted.getFeatures(), boosted.getTrees(), COMBINE_SUM,
+                    boosted.getBias(), boosted.getLearningRate(), file);
+        } else if (model instanceof MappedModel) {
+            MappedModel mapped = (MappedModel) model;
+            save(mapped.getFeatures(), mapped.getTrees(), mapped.getCombine(),
+                    mapped.getBias(), mapped.getWeight(), file);
+        } else {
+            throw new IllegalArgumentException("Cannot save a " + model.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Saves trees combined as described in the class comment.
+     *
+     * @param features The feature names rows are given in; every tree's features must be among them.
+     * @param trees The trees; at least one for COMBINE_MEAN.
+     * @param combine COMBINE_SUM or COMBINE_MEAN.
+     * @param bias Added to the combined trees.
+     * @param weight Multiplies the sum of the trees for COMBINE_SUM; ignored for COMBINE_MEAN.
+     * @param file The file to create or overwrite.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(
+            List<String> features,
+            List<CompiledTree> trees,
+            int combine,
+            double bias,
+            double weight,
+            Path file) throws IOException {
+        if (combine != COMBINE_SUM && combine != COMBINE_MEAN) {
+            throw new IllegalArgumentException("Unknown combine mode " + combine);
+        }
+        if (combine == COMBINE_MEAN && trees.isEmpty()) {
+            throw new IllegalArgumentException("The mean of no trees is undefined");
+        }
+        List<byte[]> names = new ArrayList<>();
+        long dictionaryBytes = 0;
+        for (String feature : features) {
+            byte[] name = feature.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            dictionaryBytes += Integer.BYTES + name.length;
+        }
+        long numNodes = 0;
+        for (CompiledTree tree : trees) {
+            numNodes += tree.getNodeCount();
+        }
+        long nodesStart = HEADER_BYTES + align(dictionaryBytes) + align((long) trees.size() * Integer.BYTES);
+        long size = nodesStart + numNodes * NODE_BYTES + Integer.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Model of " + numNodes + " nodes is too large for one file");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(combine)
+                .putInt(features.size()).putInt(trees.size()).putInt((int) numNodes)
+                .putDouble(bias).putDouble(weight);
+        for (byte[] name : names) {
+            buffer.putInt(name.length).put(name);
+        }
+        buffer.position((int) (HEADER_BYTES + align(dictionaryBytes)));
+
+        int root = 0;
+        for (CompiledTree tree : trees) {
+            buffer.putInt(root);
+            root += tree.getNodeCount();
+        }
+        buffer.position((int) nodesStart);
+
+        int base = 0;
+        for (CompiledTree tree : trees) {
+            // Map the tree's own feature indices onto the model's feature list
+            int[] featureMap = new int[tree.getFeatures().size()];
+            for (int j = 0; j < featureMap.length; j++) {
+                featureMap[j] = features.indexOf(tree.getFeatures().get(j));
+                if (featureMap[j] < 0) {
+                    throw new IllegalArgumentException("Tree feature " + tree.getFeatures().get(j)
+                            + " is not in the model's features");
+                }
+            }
+            for (int i = 0; i < tree.getNodeCount(); i++) {
+                if (tree.isLeaf(i)) {
+                    buffer.putDouble(tree.getValue(i)).putInt(LEAF).putInt(LEAF).putInt(LEAF);
+                } else {
+                    buffer.putDouble(tree.getThreshold(i)).putInt(featureMap[tree.getFeatureIndex(i)])
+                            .putInt(base + tree.getLeft(i)).putInt(base + tree.getRight(i));
+                }
+                buffer.putInt(0);
+            }
+            base += tree.getNodeCount();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Loads a model file by memory-mapping it. The nodes stay in the mapped
+     * file, which the operating system pages in as prediction touches them.
+     *
+     * @param file A file written by {@link #save}.
+     * @return The model, ready to predict.
+     * @throws IOException if the file cannot be read, or is damaged or of another version.
+     */
+    public static MappedModel load(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large to be a model file");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int size = buffer.capacity();
+        if (size < HEADER_BYTES + Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a model file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(file + " has unsupported model format version " + buffer.getInt(4));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(size - Integer.BYTES));
+        if ((int) crc.getValue() != buffer.getInt(size - Integer.BYTES)) {
+            throw new IOException(file + " is damaged: checksum mismatch");
+        }
+
+        int combine = buffer.getInt(8);
+        int numFeatures = buffer.getInt(12);
+        int numTrees = buffer.getInt(16);
+        int numNodes = buffer.getInt(20);
+        if ((combine != COMBINE_SUM && combine != COMBINE_MEAN) || numFeatures < 0 || numTrees < 0
+                || (combine == COMBINE_MEAN && numTrees == 0) || numNodes < numTrees) {
+            throw new IOException(file + " has an invalid header");
+        }
+
+        List<String> features = new ArrayList<>(numFeatures);
+        int position = HEADER_BYTES;
+        for (int j = 0; j < numFeatures; j++) {
+            int length = (position + Integer.BYTES <= size) ? buffer.getInt(position) : -1;
+            if (length < 0 || length > size - position - Integer.BYTES) {
+                throw new IOException(file + " has an invalid feature dictionary");
+            }
+            byte[] name = new byte[length];
+            buffer.get(position + Integer.BYTES, name);
+            features.add(new String(name, StandardCharsets.UTF_8));
+            position += Integer.BYTES + length;
+        }
+        position = (int) align(position);
+
+        int[] roots = new int[numTrees];
+        long nodesStart = position + align((long) numTrees * Integer.BYTES);
+        if (nodesStart + (long) numNodes * NODE_BYTES + Integer.BYTES != size) {
+            throw new IOException(file + " has the wrong size for " + numNodes + " nodes");
+        }
+        for (int t = 0; t < numTrees; t++) {
+            roots[t] = buffer.getInt(position + t * Integer.BYTES);
+            int end = (t + 1 < numTrees) ? buffer.getInt(position + (t + 1) * Integer.BYTES) : numNodes;
+            if (roots[t] < 0 || roots[t] >= end || end > numNodes) {
+                throw new IOException(file + " has an invalid tree directory");
+            }
+        }
+
+        ByteBuffer nodes = buffer.slice((int) nodesStart, numNodes * NODE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        validateNodes(file, nodes, roots, numNodes, numFeatures);
+        return new MappedModel(features, roots, nodes, numNodes, combine,
+                buffer.getDouble(24), buffer.getDouble(32));
+    }
+
+    // Checks that every decision node has a valid feature and children after
+    //  it in its own tree, so walking a tree always ends at one of its leaves
+    private static void validateNodes(Path file, ByteBuffer nodes, int[] roots, int numNodes, int numFeatures)
+            throws IOException {
+        for (int t = 0; t < roots.length; t++) {
+            int end = (t + 1 < roots.length) ? roots[t + 1] : numNodes;
+            for (int i = roots[t]; i < end; i++) {
+                int offset = i * NODE_BYTES;
+                int feature = nodes.getInt(offset + 8);
+                if (feature == LEAF) {
+                    continue;
+                }
+                int left = nodes.getInt(offset + 12);
+                int right = nodes.getInt(offset + 16);
+                if (feature < 0 || feature >= numFeatures
+                        || left <= i || left >= end || right <= i || right >= end) {
+                    throw new IOException(file + " has an invalid node " + i);
+                }
+            }
+        }
+    }
+
+    // Rounds a byte count up to a multiple of 8
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
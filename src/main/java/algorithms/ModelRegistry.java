@@ -0,0 +1,242 @@
+package algorithms;
+
+import datastructures.TreeNode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <strong>ModelRegistry</strong> - Holds the model that is currently live,
+ * so it can be replaced while other threads keep scoring. Each
+ * {@link #publish} creates a new numbered {@link Version}, and
+ * {@link #rollback()} goes back to the one before it.<br><br>
+ * <p>
+ * A version is immutable: its model, number and history never change once
+ * published. The live version sits in an <tt>AtomicReference</tt>, so reading
+ * it is a single volatile read, never a lock, and publishing or rolling back
+ * is a compare-and-set that swaps in a whole new version. A prediction that
+ * has read a version keeps using it to the end, even if a newer one is
+ * published meanwhile; to score several rows on one version, read
+ * {@link #current()} once and use its model for all of them. The last
+ * {@link #getMaxHistory()} versions are kept for rollback.<br><br>
+ * </p>
+ * <p>
+ * Every version takes rows in the registry's feature order. A tree is
+ * compiled against that order when it is published, and a tree that splits
+ * on any other feature is rejected.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      ModelRegistry registry = new ModelRegistry(features);
+ *      registry.publish(decisionTree.getRoot());
+ *      double prediction = registry.predict(row);   // Scoring threads
+ *      registry.publish(retrainedTree.getRoot());     // Retraining thread
+ *      registry.rollback();                          // Back to version 1
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class ModelRegistry implements Predictor {
+    public static final int DEFAULT_MAX_HISTORY = 10;
+
+    private final List<String> features;
+    private final int maxHistory;
+    private final AtomicReference<Version> current = new AtomicReference<>();
+    private final AtomicLong lastNumber = new AtomicLong();
+
+    /**
+     * One published model. Immutable, so it can be read by any thread
+     * without synchronization.
+     */
+    public static final class Version {
+        private final long number;
+        private final Predictor model;
+        private final Instant published;
+        private final Version previous; // The version this one replaced, or null
+
+        private Version(long number, Predictor model, Instant published, Version previous) {
+            this.number = number;
+            this.model = model;
+            this.published = published;
+            this.previous = previous;
+        }
+
+        // Returns the version number; numbers grow with every publish and are never reused,
+        //  though concurrent publishes can skip some
+        public long getNumber() {
+            return number;
+        }
+
+        // Returns the model of this version
+        public Predictor getModel() {
+            return model;
+        }
+
+        // Returns when this version was published
+        public Instant getPublished() {
+            return published;
+        }
+
+        @Override
+        public String toString() {
+            return "Version " + number + " (" + model.getClass().getSimpleName() + ", published " + published + ")";
+        }
+    }
+
+    // Creates an empty registry for models over the given features, keeping DEFAULT_MAX_HISTORY versions
+    public ModelRegistry(List<String> features) {
+        this(features, DEFAULT_MAX_HISTORY);
+    }
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param features Feature names, in the order every version takes rows in.
+     * @param maxHistory How many versions to keep, the live one included; at least 1.
+     */
+    public ModelRegistry(List<String> features, int maxHistory) {
+        if (maxHistory < 1) {
+            throw new IllegalArgumentException("Max history must be at least 1");
+        }
+        this.features = List.copyOf(features);
+        this.maxHistory = maxHistory;
+    }
+
+    /**
+     * Compiles a tree and makes it the live version.
+     *
+     * @param root The root of the tree, for example <tt>DecisionTree.getRoot()</tt>.
+     * @return The new version.
+     */
+    public Version publish(TreeNode root) {
+        return publish(CompiledTree.compile(root, features));
+    }
+
+    /**
+     * Makes a trained model the live version, for example a
+     * <tt>TreeCompiler</tt> class or a <tt>MappedModel</tt>. The model must be
+     * immutable and take rows in this registry's feature order.
+     *
+     * @param model The model to publish.
+     * @return The new version.
+     */
+    public Version publish(Predictor model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Cannot publish a null model");
+        }
+        Instant now = Instant.now();
+        while (true) {
+            Version live = current.get();
+            // Drawn after reading the live version, so a version's number is
+            //  always above those of the versions it replaced
+            long number = lastNumber.incrementAndGet();
+            Version next = new Version(number, model, now, trim(live, maxHistory - 1));
+            if (current.compareAndSet(live, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Makes the version before the live one live again. The version rolled
+     * back from is dropped.
+     *
+     * @return The version that is now live.
+     * @throws IllegalStateException if there is no earlier version.
+     */
+    public Version rollback() {
+        while (true) {
+            Version live = current.get();
+            if (live == null || live.previous == null) {
+                throw new IllegalStateException("There is no earlier version to roll back to");
+            }
+            if (current.compareAndSet(live, live.previous)) {
+                return live.previous;
+            }
+        }
+    }
+
+    /**
+     * Makes an earlier version live again. Every version published after it
+     * is dropped.
+     *
+     * @param number The number of a version still in the history.
+     * @return The version that is now live.
+     * @throws IllegalStateException if that version is not in the history.
+     */
+    public Version rollback(long number) {
+        while (true) {
+            Version live = current.get();
+            Version target = live;
+            while (target != null && target.number != number) {
+                target = target.previous;
+            }
+            if (target == null) {
+                throw new IllegalStateException("Version " + number + " is not in the history");
+            }
+            if (current.compareAndSet(live, target)) {
+                return target;
+            }
+        }
+    }
+
+    /**
+     * Returns the live version. Never blocks.
+     *
+     * @return The live version, or null if nothing has been published.
+     */
+    public Version current() {
+        return current.get();
+    }
+
+    /**
+     * Predicts with the live version. Never blocks.
+     *
+     * @param row Feature values, in the order of {@link #getFeatures()}.
+     * @return The live model's prediction.
+     * @throws IllegalStateException if nothing has been published.
+     */
+    @Override
+    public double predict(double[] row) {
+        Version live = current.get();
+        if (live == null) {
+            throw new IllegalStateException("No model has been published");
+        }
+        return live.model.predict(row);
+    }
+
+    // Returns the kept versions, the live one first
+    public List<Version> getHistory() {
+        List<Version> history = new ArrayList<>();
+        for (Version version = current.get(); version != null; version = version.previous) {
+            history.add(version);
+        }
+        return history;
+    }
+
+    // Returns the feature names, in the order rows are given in
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    // Returns how many versions are kept, the live one included
+    public int getMaxHistory() {
+        return maxHistory;
+    }
+
+    // Returns the first count versions of a history, copying the ones that
+    //  must lose their tail; versions are immutable, so a copy is the same version
+    private static Version trim(Version version, int count) {
+        if (version == null || count == 0) {
+            return null;
+        }
+        Version rest = trim(version.previous, count - 1);
+        return (rest == version.previous) ? version
+                : new Version(version.number, version.model, version.published, rest);
+    }
+}
@@ -0,0 +1,326 @@
+package algorithms;
+
+import datastructures.TreeNode;
+import utility.CorrelationSums;
+import utility.DataUtils;
+import utility.MappedCSVParser;
+import utility.QuantileSketch;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * <strong>OutOfCoreTreeBuilder</strong> - Builds a decision tree straight
+ * from a CSV file that may be far larger than memory. The file is read once
+ * per level of the tree, and no row is kept once it has been
+ * counted.<br><br>
+ * <p>
+ * The tree is grown one level at a time. In each pass every row is parsed
+ * in place by {@link MappedCSVParser} and routed down the partial tree to
+ * the node it belongs to; each node of the level being built collects
+ * {@link CorrelationSums} over its candidate features, a
+ * {@link QuantileSketch} of each one's values, and what it needs for its
+ * leaf value. After the pass every
+ * node decides, with the same rules as <tt>DecisionTree.buildTree</tt>,
+ * whether it becomes a leaf or splits on the feature most correlated with
+ * the target at that feature's median; its children are filled by the next
+ * pass. A tree of depth d takes at most d + 1 passes.<br><br>
+ * </p>
+ * <p>
+ * Correlations are exact. The median is exact while a node has fewer rows
+ * than the {@link #setSketchSize sketch size}, and otherwise within the
+ * sketch's rank error, so on data that fits in the sketches the tree is the
+ * one <tt>DecisionTree</tt> builds in {@link DecisionTree.TrainingMode#PARTITION}
+ * mode. The most common target value is counted exactly for up to
+ * {@link #MAX_TRACKED_TARGETS} distinct values per node; beyond that the
+ * counts are a bounded summary that still finds any value holding more than
+ * 1 / {@link #MAX_TRACKED_TARGETS} of the rows. Memory therefore grows with
+ * the number of nodes on a level, never with the number of rows.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      OutOfCoreTreeBuilder builder = new OutOfCoreTreeBuilder();
+ *      TreeNode tree = builder.buildTree(Path.of("huge.csv"), features, "count", 8);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class OutOfCoreTreeBuilder {
+    public static final int MAX_TRACKED_TARGETS = 1024;
+
+    private DecisionTree.LeafValue leafValue = DecisionTree.LeafValue.MOST_COMMON;
+    private int sketchSize = QuantileSketch.DEFAULT_K;
+    private long randomSeed = 0;
+    private int passes;
+
+    // A node of the partial tree. A node of the level being built holds its
+    //  statistics; once decided it is either a split or holds its leaf value.
+    private static final class Node {
+        final Node parent;
+        final int depth;
+        final int[] candidates;   // Column indices the node may split on; none at the maximum depth
+        int column = -1;          // Split column; -1 until the node splits
+        double threshold;
+        Node left;
+        Node right;
+        double value = Double.NaN; // The node's leaf value, kept even after it splits
+        NodeStats stats;          // Non-null while the node's level is being scanned
+
+        Node(Node parent, int depth, int[] candidates) {
+            this.parent = parent;
+            this.depth = depth;
+            this.candidates = candidates;
+        }
+    }
+
+    // What a node collects in one pass over its rows
+    private static final class NodeStats {
+        final CorrelationSums sums;
+        final QuantileSketch[] sketches; // One per candidate, for its median
+        final TargetCounts counts;
+        long count;
+        double targetSum;
+        double minTarget = Double.POSITIVE_INFINITY;
+        double maxTarget = Double.NEGATIVE_INFINITY;
+        boolean nanTarget;
+
+        NodeStats(int[] candidates, int targetColumn, int sketchSize, SplittableRandom random,
+                  boolean countTargets) {
+            this.sums = (candidates.length > 0) ? new CorrelationSums(candidates, targetColumn) : null;
+            this.sketches = new QuantileSketch[candidates.length];
+            for (int c = 0; c < sketches.length; c++) {
+                sketches[c] = new QuantileSketch(sketchSize, random.nextLong());
+            }
+            this.counts = countTargets ? new TargetCounts() : null;
+        }
+    }
+
+    // Counts target values, exactly for up to MAX_TRACKED_TARGETS distinct
+    //  ones; past that it keeps a Misra-Gries summary, whose counts are low
+    //  by at most count / MAX_TRACKED_TARGETS
+    private static final class TargetCounts {
+        final Map<Double, long[]> counts = new HashMap<>();
+
+        void add(double value) {
+            long[] count = counts.get(value);
+            if (count != null) {
+                count[0]++;
+            } else if (counts.size() < MAX_TRACKED_TARGETS) {
+                counts.put(value, new long[] {1});
+            } else {
+                // Full: the new value and one of every tracked value cancel out
+                Iterator<long[]> it = counts.values().iterator();
+                while (it.hasNext()) {
+                    if (--it.next()[0] == 0) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+
+        // Returns the most counted value, the lowest one on ties
+        double mostCommon() {
+            double best = Double.NaN;
+            long bestCount = 0;
+            for (Map.Entry<Double, long[]> entry : counts.entrySet()) {
+                long count = entry.getValue()[0];
+                double value = entry.getKey();
+                if (count > bestCount || (count == bestCount && value < best)) {
+                    best = value;
+                    bestCount = count;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Builds a decision tree from a CSV file with a header row, reading the
+     * file once per level. Cells that are not numbers are read as NaN, as
+     * by <tt>CSVReader.readDataset</tt>.
+     *
+     * @param file The CSV file.
+     * @param features The names of the columns that may be split on.
+     * @param target The name of the target column.
+     * @param maxDepth The maximum depth of the tree.
+     * @return The root node of the tree.
+     * @throws IOException If the file cannot be read.
+     */
+    public TreeNode buildTree(Path file, List<String> features, String target, int maxDepth) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedCSVParser.Header header = MappedCSVParser.readHeader(channel);
+            int numColumns = header.names.size();
+            int targetColumn = columnOf(header, target);
+            int[] featureColumns = new int[features.size()];
+            for (int f = 0; f < featureColumns.length; f++) {
+                featureColumns[f] = columnOf(header, features.get(f));
+            }
+
+            Node root = new Node(null, 0, (maxDepth > 0) ? featureColumns : new int[0]);
+            List<Node> level = List.of(root);
+            SplittableRandom random = new SplittableRandom(randomSeed);
+            passes = 0;
+
+            while (!level.isEmpty()) {
+                for (Node node : level) {
+                    node.stats = new NodeStats(node.candidates, targetColumn, sketchSize, random,
+                            leafValue == DecisionTree.LeafValue.MOST_COMMON);
+                }
+                MappedCSVParser.scan(channel, header.dataStart, channel.size(), numColumns,
+                        row -> collect(root, row, targetColumn));
+                passes++;
+
+                // A split whose child got no rows does not separate anything:
+                //  its node becomes the leaf it would have been
+                List<Node> next = new ArrayList<>();
+                for (int i = 0; i < level.size(); i += 2) {
+                    Node node = level.get(i);
+                    if (node.depth > 0 && (node.stats.count == 0 || level.get(i + 1).stats.count == 0)) {
+                        node.parent.column = -1;
+                        node.parent.left = null;
+                        node.parent.right = null;
+                        continue;
+                    }
+                    decide(node, header.names, maxDepth, next);
+                    if (node.depth > 0) {
+                        decide(level.get(i + 1), header.names, maxDepth, next);
+                    }
+                }
+                level = next;
+            }
+            return toTreeNode(root, header.names);
+        }
+    }
+
+    // Routes a row to its node and adds it to the node's statistics, if the node is on the level being built
+    private void collect(Node root, double[] row, int targetColumn) {
+        Node node = root;
+        while (node.column >= 0) {
+            node = (row[node.column] <= node.threshold) ? node.left : node.right;
+        }
+        NodeStats stats = node.stats;
+        if (stats == null) {
+            return; // Already a leaf
+        }
+
+        double y = row[targetColumn];
+        stats.count++;
+        stats.targetSum += y;
+        if (Double.isNaN(y)) {
+            stats.nanTarget = true;
+        } else {
+            stats.minTarget = Math.min(stats.minTarget, y);
+            stats.maxTarget = Math.max(stats.maxTarget, y);
+        }
+        if (stats.counts != null) {
+            stats.counts.add(y);
+        }
+        if (node.candidates.length == 0) {
+            return;
+        }
+        stats.sums.add(row);
+        for (int c = 0; c < node.candidates.length; c++) {
+            stats.sketches[c].add(row[node.candidates[c]]);
+        }
+    }
+
+    // Makes a node a leaf or a split, as DecisionTree would, and adds the children of a split to next
+    private void decide(Node node, List<String> names, int maxDepth, List<Node> next) {
+        NodeStats stats = node.stats;
+        node.stats = null;
+        node.value = (leafValue == DecisionTree.LeafValue.MEAN || stats.counts == null)
+                ? stats.targetSum / stats.count
+                : stats.counts.mostCommon();
+        boolean pure = !stats.nanTarget && stats.minTarget == stats.maxTarget;
+        if (node.depth >= maxDepth || node.candidates.length == 0 || pure || stats.count == 0) {
+            return;
+        }
+
+        int best = DecisionTree.selectBestFeature(stats.sums.correlations(), node.candidates, names);
+        if (best < 0) {
+            return;
+        }
+        // A split separates the rows unless every one is at or below the
+        //  threshold; rows with a NaN value, which the sketch skips, go right
+        QuantileSketch sketch = stats.sketches[best];
+        double threshold = sketch.median();
+        if (!(threshold < sketch.getMax()) && sketch.count() == stats.count) {
+            return; // The split does not separate anything
+        }
+
+        // The children split on the remaining candidates, unless they are at the maximum depth
+        int width = node.candidates.length;
+        int[] remaining = new int[(node.depth + 1 < maxDepth) ? width - 1 : 0];
+        for (int c = 0, k = 0; k < remaining.length; c++) {
+            if (c != best) {
+                remaining[k++] = node.candidates[c];
+            }
+        }
+        node.column = node.candidates[best];
+        node.threshold = threshold;
+        node.left = new Node(node, node.depth + 1, remaining);
+        node.right = new Node(node, node.depth + 1, remaining);
+        next.add(node.left);
+        next.add(node.right);
+    }
+
+    private static TreeNode toTreeNode(Node node, List<String> names) {
+        if (node.column < 0) {
+            return new TreeNode(node.value);
+        }
+        return new TreeNode(names.get(node.column), node.threshold,
+                toTreeNode(node.left, names), toTreeNode(node.right, names), null);
+    }
+
+    private static int columnOf(MappedCSVParser.Header header, String name) {
+        int column = header.names.indexOf(name);
+        if (column < 0) {
+            throw new IllegalArgumentException("No column named " + name);
+        }
+        return column;
+    }
+
+    // Sets what the leaves predict
+    public void setLeafValue(DecisionTree.LeafValue leafValue) {
+        this.leafValue = leafValue;
+    }
+
+    // Returns what the leaves predict
+    public DecisionTree.LeafValue getLeafValue() {
+        return this.leafValue;
+    }
+
+    // Sets the size parameter of each node's quantile sketches; the median
+    //  is exact for nodes with fewer rows, and closer the larger it is
+    public void setSketchSize(int sketchSize) {
+        if (sketchSize < 8) {
+            throw new IllegalArgumentException("Sketch size must be at least 8");
+        }
+        this.sketchSize = sketchSize;
+    }
+
+    // Returns the size parameter of each node's quantile sketches
+    public int getSketchSize() {
+        return this.sketchSize;
+    }
+
+    // Sets the seed of the quantile sketches; the same seed and file give the same tree
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    // Returns the number of passes over the file the last build made
+    public int getPasses() {
+        return this.passes;
+    }
+}
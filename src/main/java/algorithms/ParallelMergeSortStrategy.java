@@ -0,0 +1,203 @@
+package algorithms;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <strong>ParallelMergeSortStrategy</strong> - Implements merge sort for
+ * large lists on all cores of a fork-join pool. Halves of more than
+ * {@link #SEQUENTIAL_THRESHOLD} elements are sorted as parallel tasks, and
+ * two sorted halves are merged in parallel too: the middle element of the
+ * longer half is located in the shorter one by binary search, which splits
+ * the merge into two independent merges of about half the size.<br><br>
+ * <p>
+ * The list is copied into an array once, and a single auxiliary array of
+ * the same length is allocated up front. Each level of the recursion sorts
+ * from one array into the other and the next level swaps their roles, so
+ * no level allocates or copies back. The sorted elements are written back
+ * into the list at the end. Stable, like <tt>MergeSortStrategy</tt>.<br><br>
+ * </p>
+ *
+ * Usage: Instantiate and use with <tt>SortUtils.sort</tt> to sort lists.<br><br>
+ *
+ * @param <T> the type of elements to be sorted, must extend {@link Comparable}.
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class ParallelMergeSortStrategy<T extends Comparable<T>> implements SortStrategy<T> {
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13; // Smaller ranges are sorted or merged by one thread
+    private static final int INSERTION_CUTOFF = 32;
+
+    private final ForkJoinPool pool;
+
+    // Creates a sort that runs on the common fork-join pool
+    public ParallelMergeSortStrategy() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    // Creates a sort that runs on the given fork-join pool
+    public ParallelMergeSortStrategy(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(List<T> list) {
+        Object[] values = list.toArray();
+        if (values.length < 2) {
+            return;
+        }
+        Object[] aux = values.clone(); // The sort reads from aux and leaves the result in values
+        pool.invoke(new SortTask(aux, values, 0, values.length));
+
+        ListIterator<T> it = list.listIterator();
+        for (Object value : values) {
+            it.next();
+            it.set((T) value);
+        }
+    }
+
+    // Sorts src[lo..hi) into dst[lo..hi). Both arrays hold the same elements
+    //  on entry; src's range is used as scratch space.
+    private class SortTask extends RecursiveAction {
+        private final Object[] src;
+        private final Object[] dst;
+        private final int lo;
+        private final int hi;
+
+        SortTask(Object[] src, Object[] dst, int lo, int hi) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SEQUENTIAL_THRESHOLD) {
+                mergeSort(src, dst, lo, hi);
+                return;
+            }
+            // Sort each half into src, then merge both halves from src into dst
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(dst, src, lo, mid), new SortTask(dst, src, mid, hi));
+            new MergeTask(src, lo, mid, mid, hi, dst, lo).compute();
+        }
+    }
+
+    // Merges the sorted runs src[lo1..hi1) and src[lo2..hi2) into dst, starting at dstLo
+    private class MergeTask extends RecursiveAction {
+        private final Object[] src;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final Object[] dst;
+        private final int dstLo;
+
+        MergeTask(Object[] src, int lo1, int hi1, int lo2, int hi2, Object[] dst, int dstLo) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.dstLo = dstLo;
+        }
+
+        @Override
+        protected void compute() {
+            if ((hi1 - lo1) + (hi2 - lo2) <= SEQUENTIAL_THRESHOLD) {
+                merge(src, lo1, hi1, lo2, hi2, dst, dstLo);
+                return;
+            }
+            // Split at the middle of the longer run. For stability, equal
+            //  elements of the first run must stay before those of the second.
+            int m1;
+            int m2;
+            if (hi1 - lo1 >= hi2 - lo2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int dstMid = dstLo + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTask(src, lo1, m1, lo2, m2, dst, dstLo),
+                    new MergeTask(src, m1, hi1, m2, hi2, dst, dstMid));
+        }
+    }
+
+    // Sorts src[lo..hi) into dst[lo..hi) by one thread, ping-ponging between the arrays
+    private void mergeSort(Object[] src, Object[] dst, int lo, int hi) {
+        if (hi - lo <= INSERTION_CUTOFF) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(dst, src, lo, mid);
+        mergeSort(dst, src, mid, hi);
+        if (compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, lo, dst, lo, hi - lo); // Already in order
+            return;
+        }
+        merge(src, lo, mid, mid, hi, dst, lo);
+    }
+
+    private void merge(Object[] src, int lo1, int hi1, int lo2, int hi2, Object[] dst, int dstLo) {
+        int i = lo1;
+        int j = lo2;
+        int k = dstLo;
+        while (i < hi1 && j < hi2) {
+            dst[k++] = (compare(src[j], src[i]) < 0) ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, hi1 - i);
+        System.arraycopy(src, j, dst, k + (hi1 - i), hi2 - j);
+    }
+
+    private void insertionSort(Object[] values, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object key = values[i];
+            int j = i - 1;
+            while (j >= lo && compare(values[j], key) > 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = key;
+        }
+    }
+
+    // Returns the first index in [lo, hi) whose element is not less than key
+    private int lowerBound(Object[] values, int lo, int hi, Object key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(values[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Returns the first index in [lo, hi) whose element is greater than key
+    private int upperBound(Object[] values, int lo, int hi, Object key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(values[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return ((T) a).compareTo((T) b);
+    }
+}
@@ -0,0 +1,23 @@
+package algorithms;
+
+/**
+ * <strong>Predictor</strong> - A trained model that turns one row of numeric
+ * feature values into a prediction.<br><br>
+ * <p>
+ * Rows are plain <tt>double[]</tt> arrays whose positions follow the feature
+ * list the model was built with. Implementations are immutable once built,
+ * so one instance can be shared by any number of scoring threads.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+public interface Predictor {
+    /**
+     * Predicts the target value for one row.
+     *
+     * @param row Feature values, in the model's feature order.
+     * @return The predicted value.
+     */
+    double predict(double[] row);
+}
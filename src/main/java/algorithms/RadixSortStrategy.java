@@ -0,0 +1,76 @@
+package algorithms;
+
+/**
+ * <strong>RadixSortStrategy</strong> - Sorts a <tt>double[]</tt> range with
+ * an LSD radix sort on the IEEE-754 bit pattern of the values. Each value is
+ * mapped to a 64-bit key whose unsigned order is the order of
+ * <tt>Double.compare</tt> (flip every bit of a negative number, only the
+ * sign bit of a positive one), the keys are sorted 11 bits at a time, and
+ * the values are read back from the keys.<br><br>
+ * <p>
+ * It makes at most six passes no matter how the values are ordered, and
+ * skips any pass in which every key has the same digit, which is common for
+ * values of one sign and a narrow range. It needs two key arrays as long as
+ * the range. Short ranges are insertion-sorted instead.<br><br>
+ * </p>
+ *
+ * Usage: Instantiate and use with <tt>SortUtils.sort</tt> to sort arrays.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class RadixSortStrategy implements DoubleSortStrategy {
+    private static final int BITS = 11;
+    private static final int RADIX = 1 << BITS;
+    private static final int PASSES = (64 + BITS - 1) / BITS;
+    private static final int MIN_RADIX_LENGTH = 64; // Shorter ranges are insertion-sorted
+
+    @Override
+    public void sort(double[] values, int from, int to) {
+        int n = to - from;
+        if (n < MIN_RADIX_LENGTH) {
+            int end = DoubleSorts.moveNaNsToEnd(values, from, to);
+            DoubleSorts.insertionSort(values, from, end);
+            DoubleSorts.orderZeros(values, from, end);
+            return;
+        }
+
+        // Map the values to keys (all NaNs to the same, largest one), counting
+        //  the digits of every pass in the same read
+        long[] keys = new long[n];
+        int[][] counts = new int[PASSES][RADIX + 1];
+        for (int i = 0; i < n; i++) {
+            long key = Double.doubleToLongBits(values[from + i]);
+            key ^= (key >> 63) | Long.MIN_VALUE;
+            keys[i] = key;
+            for (int p = 0; p < PASSES; p++) {
+                counts[p][(int) ((key >>> (p * BITS)) & (RADIX - 1)) + 1]++;
+            }
+        }
+
+        long[] aux = new long[n];
+        for (int p = 0; p < PASSES; p++) {
+            int[] count = counts[p];
+            int shift = p * BITS;
+            if (count[(int) ((keys[0] >>> shift) & (RADIX - 1)) + 1] == n) {
+                continue; // Every key has the same digit - this pass would not move anything
+            }
+            for (int d = 0; d < RADIX; d++) {
+                count[d + 1] += count[d];
+            }
+            for (int i = 0; i < n; i++) {
+                aux[count[(int) ((keys[i] >>> shift) & (RADIX - 1))]++] = keys[i];
+            }
+            long[] swap = keys;
+            keys = aux;
+            aux = swap;
+        }
+
+        // Undo the mapping: keys with the top bit set came from positive values
+        for (int i = 0; i < n; i++) {
+            long key = keys[i];
+            values[from + i] = Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+        }
+    }
+}
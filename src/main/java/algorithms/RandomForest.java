@@ -0,0 +1,183 @@
+package algorithms;
+
+import datastructures.Dataset;
+import datastructures.TreeNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <strong>RandomForest</strong> - An ensemble of decision trees whose
+ * predictions are averaged. Each tree is built by <tt>DecisionTree</tt> from
+ * its own bootstrap sample of the rows (drawn with replacement), and each
+ * split considers only a random subset of the features, which makes the trees
+ * differ from one another and the average more accurate than any single
+ * tree.<br><br>
+ * <p>
+ * The trees are trained in parallel, one fork-join task per tree. All tasks
+ * read the same <tt>Dataset</tt>; a tree only owns its array of sampled row
+ * indices and its build buffers, so the data is never copied per tree and
+ * training scales with the number of cores. Every random choice is seeded
+ * from the forest's seed and the tree's position, so a forest is the same no
+ * matter how many threads train it.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      RandomForest forest = new RandomForest(100, 6);
+ *      forest.setSeed(42);
+ *      forest.train(data, features, target);
+ *      double prediction = forest.predict(row);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class RandomForest implements Predictor {
+    private final int numTrees;
+    private final int maxDepth;
+    private int featureSubsetSize = 0; // 0 picks a third of the features, the usual choice for regression
+    private long seed = 0;
+    private DecisionTree.TrainingMode trainingMode = DecisionTree.TrainingMode.PARTITION;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private volatile List<String> features;
+    private volatile CompiledTree[] trees;
+
+    /**
+     * Constructs an untrained forest.
+     * <br><br>
+     * @param numTrees Number of trees to train.
+     * @param maxDepth Maximum depth of each tree.
+     */
+    public RandomForest(int numTrees, int maxDepth) {
+        if (numTrees < 1) {
+            throw new IllegalArgumentException("A forest needs at least one tree");
+        }
+        this.numTrees = numTrees;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Trains the forest. Replaces any trees from an earlier call once all new
+     * trees are built.
+     *
+     * @param data The columnar dataset to train on; it is only read.
+     * @param features List of feature names that may be split on.
+     * @param target The name of the target variable for prediction.
+     */
+    public void train(Dataset data, List<String> features, String target) {
+        int subsetSize = (featureSubsetSize > 0) ? featureSubsetSize : Math.max(1, features.size() / 3);
+        List<String> featureList = List.copyOf(features);
+
+        List<TreeTask> tasks = new ArrayList<>();
+        for (int t = 0; t < numTrees; t++) {
+            tasks.add(new TreeTask(data, featureList, target, subsetSize, t));
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+
+        CompiledTree[] trained = new CompiledTree[numTrees];
+        for (int t = 0; t < numTrees; t++) {
+            trained[t] = tasks.get(t).join();
+        }
+        this.features = featureList;
+        this.trees = trained;
+    }
+
+    // Trains one tree on its own bootstrap sample
+    private class TreeTask extends RecursiveTask<CompiledTree> {
+        private final Dataset data;
+        private final List<String> features;
+        private final String target;
+        private final int subsetSize;
+        private final int index;
+
+        TreeTask(Dataset data, List<String> features, String target, int subsetSize, int index) {
+            this.data = data;
+            this.features = features;
+            this.target = target;
+            this.subsetSize = subsetSize;
+            this.index = index;
+        }
+
+        @Override
+        protected CompiledTree compute() {
+            SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+            int n = data.numRows();
+            int[] sample = new int[n];
+            for (int i = 0; i < n; i++) {
+                sample[i] = random.nextInt(n);
+            }
+
+            DecisionTree tree = new DecisionTree();
+            tree.setTrainingMode(trainingMode);
+            tree.setFeatureSubsetSize(subsetSize);
+            tree.setRandomSeed(random.nextLong());
+            TreeNode root = tree.buildTree(data, sample, features, target, 0, maxDepth);
+            return CompiledTree.compile(root, features);
+        }
+    }
+
+    /**
+     * Predicts the target value for one row as the average of the trees.
+     *
+     * @param row Feature values, in the order of {@link #getFeatures()}.
+     * @return The average prediction of all trees.
+     */
+    @Override
+    public double predict(double[] row) {
+        CompiledTree[] current = trees;
+        if (current == null) {
+            throw new IllegalStateException("The forest has not been trained");
+        }
+        double sum = 0;
+        for (CompiledTree tree : current) {
+            sum += tree.predict(row);
+        }
+        return sum / current.length;
+    }
+
+    // Sets how many randomly chosen features each split considers; 0 uses a third of them
+    public void setFeatureSubsetSize(int featureSubsetSize) {
+        if (featureSubsetSize < 0) {
+            throw new IllegalArgumentException("Feature subset size cannot be negative");
+        }
+        this.featureSubsetSize = featureSubsetSize;
+    }
+
+    // Sets the seed for the bootstrap samples and feature sampling
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Sets the training mode of the individual trees
+    public void setTrainingMode(DecisionTree.TrainingMode trainingMode) {
+        this.trainingMode = trainingMode;
+    }
+
+    // Sets the pool the trees are trained on (the common pool by default)
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Returns the feature names the forest was trained with, or null before training
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    // Returns the trained trees, or null before training
+    public List<CompiledTree> getTrees() {
+        CompiledTree[] current = trees;
+        return (current == null) ? null : List.of(current);
+    }
+}
@@ -1,6 +1,8 @@
 package algorithms;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -33,6 +35,11 @@ public class SortUtils {
         strategy.sort(list);
     }
 
+    // Sorts a primitive array with the given strategy, without boxing its values
+    public static void sort(double[] values, DoubleSortStrategy strategy) {
+        strategy.sort(values);
+    }
+
     public static void main(String[] args) {
         List<Integer> numbers = new ArrayList<>();
         Random random = new Random();
@@ -69,5 +76,36 @@ public class SortUtils {
         SortStrategy<Integer> mergeSortStrategy = new MergeSortStrategy<>();
         sort(numbersForMergeSort, mergeSortStrategy);
         System.out.println("\t" + numbersForMergeSort);
+
+        // Parallel Merge Sort
+        System.out.println("Parallel Merge Sort:");
+        List<Integer> numbersForParallelMergeSort = new ArrayList<>(numbers);
+        SortStrategy<Integer> parallelMergeSortStrategy = new ParallelMergeSortStrategy<>();
+        sort(numbersForParallelMergeSort, parallelMergeSortStrategy);
+        System.out.println("\t" + numbersForParallelMergeSort);
+
+        // Primitive strategies sort a double[] directly
+        double[] values = new double[numbers_to_test];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = numbers.get(i);
+        }
+        DoubleSortStrategy[] doubleStrategies = {
+                new DualPivotQuickSortStrategy(), new RadixSortStrategy(), new HybridMergeSortStrategy()};
+        for (DoubleSortStrategy doubleStrategy : doubleStrategies) {
+            double[] copy = values.clone();
+            sort(copy, doubleStrategy);
+            System.out.println(doubleStrategy.getClass().getSimpleName() + ":");
+            System.out.println("\t" + Arrays.toString(copy));
+        }
+
+        // External Merge Sort, with runs of 4 values spilled to the temp directory
+        System.out.println("External Merge Sort:");
+        List<Double> valuesForExternalMergeSort = new ArrayList<>();
+        for (double value : values) {
+            valuesForExternalMergeSort.add(value);
+        }
+        sort(valuesForExternalMergeSort, new ExternalMergeSortStrategy(
+                4, Path.of(System.getProperty("java.io.tmpdir")), new RadixSortStrategy()));
+        System.out.println("\t" + valuesForExternalMergeSort);
     }
 }
@@ -0,0 +1,474 @@
+package algorithms;
+
+import datastructures.TreeNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <strong>TreeCompiler</strong> - Turns a <tt>TreeNode</tt> tree into JVM
+ * bytecode: a generated class whose <tt>predict</tt> method is the tree
+ * written out as nested if/else comparisons on the <tt>double[]</tt> row,
+ * with each feature index, threshold and leaf value as a constant. The class
+ * is loaded as a hidden class, so the JIT compiles the whole tree like
+ * hand-written code and no node array is read at prediction time.<br><br>
+ * <p>
+ * Each decision node becomes <tt>row[i] &lt;= threshold</tt>, compiled to a
+ * <tt>dcmpg</tt> whose NaN result also takes the right branch, exactly as in
+ * <tt>DecisionTree.predict</tt> and <tt>CompiledTree</tt>. HotSpot does not
+ * JIT-compile methods longer than {@link #MAX_METHOD_BYTES} bytes of
+ * bytecode, so larger subtrees are moved into static methods of their own
+ * that the parent calls. A tree with more constants than a class file can
+ * hold is compiled to a <tt>CompiledTree</tt> instead.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      TreeNode root = decisionTree.buildTree(data, features, target, 0, 8);
+ *      Predictor model = TreeCompiler.compile(root, features);
+ *      double prediction = model.predict(row);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public final class TreeCompiler {
+    public static final int MAX_METHOD_BYTES = 8000;  // HotSpot's HugeMethodLimit
+    private static final int CLASS_VERSION = 61;      // Java 17
+    private static final String CLASS_NAME = "algorithms/GeneratedTree";
+    private static final String PREDICT_DESCRIPTOR = "([D)D";
+
+    // Bytecode sizes used to plan how the tree is split into methods
+    private static final int LEAF_BYTES = 4;          // ldc2_w, dreturn
+    private static final int CALL_BYTES = 5;          // aload, invokestatic, dreturn
+
+    private TreeCompiler() {
+    }
+
+    /**
+     * Compiles a tree into a generated <tt>Predictor</tt> class.
+     *
+     * @param root The root of the tree, for example <tt>DecisionTree.getRoot()</tt>.
+     * @param features Feature names, in the order rows will be given in.
+     * @return A predictor whose results equal <tt>DecisionTree.predict</tt> on the same tree.
+     */
+    public static Predictor compile(TreeNode root, List<String> features) {
+        if (root == null) {
+            throw new IllegalArgumentException("Cannot compile an empty tree");
+        }
+        Map<TreeNode, Integer> featureIndex = new IdentityHashMap<>();
+        Set<TreeNode> ownMethod = Collections.newSetFromMap(new IdentityHashMap<>());
+        plan(root, features, featureIndex, ownMethod);
+
+        byte[] classBytes = new ClassWriter(featureIndex, ownMethod).write(root);
+        if (classBytes == null) {
+            return CompiledTree.compile(root, features); // Too many constants for one class
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classBytes, true);
+            return (Predictor) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("The generated tree class could not be loaded", e);
+        }
+    }
+
+    // Checks the tree, resolves feature names, and marks the subtrees that get
+    //  their own method so no method exceeds MAX_METHOD_BYTES; returns the
+    //  bytecode size of the node's subtree within its method
+    private static int plan(TreeNode node, List<String> features,
+                            Map<TreeNode, Integer> featureIndex, Set<TreeNode> ownMethod) {
+        if (node.value != null) {
+            return LEAF_BYTES;
+        }
+        if (node.left == null || node.right == null) {
+            throw new IllegalArgumentException("Decision node on " + node.feature + " is missing a child");
+        }
+        int index = features.indexOf(node.feature);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown feature in tree: " + node.feature);
+        }
+        featureIndex.put(node, index);
+
+        int left = plan(node.left, features, featureIndex, ownMethod);
+        int right = plan(node.right, features, featureIndex, ownMethod);
+        int header = decisionBytes(index);
+        while (header + left + right > MAX_METHOD_BYTES) {
+            if (left >= right) {
+                ownMethod.add(node.left);
+                left = CALL_BYTES;
+            } else {
+                ownMethod.add(node.right);
+                right = CALL_BYTES;
+            }
+        }
+        return header + left + right;
+    }
+
+    // aload, push index, daload, ldc2_w, dcmpg, ifgt
+    private static int decisionBytes(int featureIndex) {
+        return 9 + pushBytes(featureIndex);
+    }
+
+    // iconst, bipush, sipush, or ldc_w past the range of a short
+    private static int pushBytes(int value) {
+        return (value <= 5) ? 1 : (value <= Byte.MAX_VALUE) ? 2 : 3;
+    }
+
+    // Writes the class file of one tree
+    private static class ClassWriter {
+        // Opcodes
+        private static final int ALOAD_0 = 0x2A;
+        private static final int ICONST_0 = 0x03;
+        private static final int BIPUSH = 0x10;
+        private static final int SIPUSH = 0x11;
+        private static final int LDC_W = 0x13;
+        private static final int LDC2_W = 0x14;
+        private static final int DALOAD = 0x31;
+        private static final int DCMPG = 0x98;
+        private static final int IFGT = 0x9D;
+        private static final int DRETURN = 0xAF;
+        private static final int RETURN = 0xB1;
+        private static final int INVOKESPECIAL = 0xB7;
+        private static final int INVOKESTATIC = 0xB8;
+
+        // Access flags
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_PRIVATE = 0x0002;
+        private static final int ACC_STATIC = 0x0008;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+
+        private final Map<TreeNode, Integer> featureIndex;
+        private final Set<TreeNode> ownMethod;
+        private final ConstantPool pool = new ConstantPool();
+        private final Map<TreeNode, String> methodNames = new IdentityHashMap<>();
+        private final Deque<TreeNode> pendingMethods = new ArrayDeque<>();
+
+        ClassWriter(Map<TreeNode, Integer> featureIndex, Set<TreeNode> ownMethod) {
+            this.featureIndex = featureIndex;
+            this.ownMethod = ownMethod;
+        }
+
+        // Returns the class file, or null if its constant pool would overflow
+        byte[] write(TreeNode root) {
+            int thisClass = pool.classRef(CLASS_NAME);
+            int objectClass = pool.classRef("java/lang/Object");
+            int predictorClass = pool.classRef("algorithms/Predictor");
+
+            List<byte[]> methods = new ArrayList<>();
+            methods.add(method(ACC_PUBLIC, "<init>", "()V", 1, 1, constructorCode(objectClass), List.of()));
+            List<Integer> frames = new ArrayList<>();
+            byte[] code = methodCode(root, 1, frames);
+            methods.add(method(ACC_PUBLIC, "predict", PREDICT_DESCRIPTOR, 4, 2, code, frames));
+            while (!pendingMethods.isEmpty()) {
+                TreeNode node = pendingMethods.poll();
+                frames = new ArrayList<>();
+                code = methodCode(node, 0, frames);
+                methods.add(method(ACC_PRIVATE | ACC_STATIC, methodNames.get(node), PREDICT_DESCRIPTOR,
+                        4, 1, code, frames));
+            }
+            if (pool.size() > 0xFFFF) {
+                return null;
+            }
+
+            Bytes out = new Bytes();
+            out.u4(0xCAFEBABE);
+            out.u2(0);
+            out.u2(CLASS_VERSION);
+            pool.writeTo(out);
+            out.u2(ACC_FINAL | ACC_SUPER);
+            out.u2(thisClass);
+            out.u2(objectClass);
+            out.u2(1);
+            out.u2(predictorClass);
+            out.u2(0); // Fields
+            out.u2(methods.size());
+            for (byte[] method : methods) {
+                out.bytes(method);
+            }
+            out.u2(0); // Attributes
+            return out.toByteArray();
+        }
+
+        private byte[] constructorCode(int objectClass) {
+            Bytes code = new Bytes();
+            code.u1(ALOAD_0);
+            code.u1(INVOKESPECIAL);
+            code.u2(pool.methodRef(objectClass, "<init>", "()V"));
+            code.u1(RETURN);
+            return code.toByteArray();
+        }
+
+        // Emits the subtree of a method's root; rowSlot is the local holding the row
+        private byte[] methodCode(TreeNode root, int rowSlot, List<Integer> frames) {
+            Bytes code = new Bytes();
+            emit(root, root, rowSlot, code, frames);
+            return code.toByteArray();
+        }
+
+        private void emit(TreeNode node, TreeNode methodRoot, int rowSlot, Bytes code, List<Integer> frames) {
+            if (node.value != null) {
+                code.u1(LDC2_W);
+                code.u2(pool.doubleConstant(node.value));
+                code.u1(DRETURN);
+                return;
+            }
+            if (node != methodRoot && ownMethod.contains(node)) {
+                code.u1(ALOAD_0 + rowSlot);
+                code.u1(INVOKESTATIC);
+                code.u2(pool.methodRef(pool.classRef(CLASS_NAME), methodName(node), PREDICT_DESCRIPTOR));
+                code.u1(DRETURN);
+                return;
+            }
+
+            // if (!(row[index] <= threshold)) goto right; NaN compares as greater
+            code.u1(ALOAD_0 + rowSlot);
+            int index = featureIndex.get(node);
+            if (index <= 5) {
+                code.u1(ICONST_0 + index);
+            } else if (index <= Byte.MAX_VALUE) {
+                code.u1(BIPUSH);
+                code.u1(index);
+            } else if (index <= Short.MAX_VALUE) {
+                code.u1(SIPUSH);
+                code.u2(index);
+            } else {
+                code.u1(LDC_W); // sipush takes a signed short
+                code.u2(pool.intConstant(index));
+            }
+            code.u1(DALOAD);
+            code.u1(LDC2_W);
+            code.u2(pool.doubleConstant(node.threshold));
+            code.u1(DCMPG);
+            int branch = code.size();
+            code.u1(IFGT);
+            code.u2(0);
+
+            emit(node.left, methodRoot, rowSlot, code, frames);
+            int right = code.size();
+            code.patchU2(branch + 1, right - branch);
+            frames.add(right); // Follows a dreturn, so the verifier needs a frame here
+            emit(node.right, methodRoot, rowSlot, code, frames);
+        }
+
+        private String methodName(TreeNode node) {
+            String name = methodNames.get(node);
+            if (name == null) {
+                name = "node" + methodNames.size();
+                methodNames.put(node, name);
+                pendingMethods.add(node);
+            }
+            return name;
+        }
+
+        private byte[] method(int access, String name, String descriptor, int maxStack, int maxLocals,
+                              byte[] code, List<Integer> frames) {
+            Bytes out = new Bytes();
+            out.u2(access);
+            out.u2(pool.utf8(name));
+            out.u2(pool.utf8(descriptor));
+            out.u2(1);
+
+            // Every frame is the method's entry frame: the same locals and an empty stack
+            Bytes stackMap = new Bytes();
+            int previous = -1;
+            for (int offset : frames) {
+                int delta = offset - previous - 1;
+                if (delta <= 63) {
+                    stackMap.u1(delta); // same_frame
+                } else {
+                    stackMap.u1(251);   // same_frame_extended
+                    stackMap.u2(delta);
+                }
+                previous = offset;
+            }
+
+            Bytes codeAttribute = new Bytes();
+            codeAttribute.u2(maxStack);
+            codeAttribute.u2(maxLocals);
+            codeAttribute.u4(code.length);
+            codeAttribute.bytes(code);
+            codeAttribute.u2(0); // Exception table
+            if (frames.isEmpty()) {
+                codeAttribute.u2(0);
+            } else {
+                codeAttribute.u2(1);
+                codeAttribute.u2(pool.utf8("StackMapTable"));
+                codeAttribute.u4(2 + stackMap.size());
+                codeAttribute.u2(frames.size());
+                codeAttribute.bytes(stackMap.toByteArray());
+            }
+
+            out.u2(pool.utf8("Code"));
+            out.u4(codeAttribute.size());
+            out.bytes(codeAttribute.toByteArray());
+            return out.toByteArray();
+        }
+    }
+
+    // The constant pool of the generated class, with each constant stored once
+    private static class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int INTEGER = 3;
+        private static final int DOUBLE = 6;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final Bytes entries = new Bytes();
+        private final Map<Object, Integer> indices = new HashMap<>();
+        private int next = 1; // Entry 0 is unused
+
+        int utf8(String value) {
+            Integer index = indices.get(value);
+            if (index == null) {
+                index = add(1);
+                indices.put(value, index);
+                entries.u1(UTF8);
+                entries.utf(value);
+            }
+            return index;
+        }
+
+        int classRef(String internalName) {
+            String key = "class " + internalName;
+            Integer index = indices.get(key);
+            if (index == null) {
+                int name = utf8(internalName);
+                index = add(1);
+                indices.put(key, index);
+                entries.u1(CLASS);
+                entries.u2(name);
+            }
+            return index;
+        }
+
+        int methodRef(int classIndex, String name, String descriptor) {
+            String key = "method " + classIndex + " " + name + descriptor;
+            Integer index = indices.get(key);
+            if (index == null) {
+                int nameIndex = utf8(name);
+                int descriptorIndex = utf8(descriptor);
+                int nameAndType = add(1);
+                entries.u1(NAME_AND_TYPE);
+                entries.u2(nameIndex);
+                entries.u2(descriptorIndex);
+                index = add(1);
+                indices.put(key, index);
+                entries.u1(METHOD_REF);
+                entries.u2(classIndex);
+                entries.u2(nameAndType);
+            }
+            return index;
+        }
+
+        int intConstant(int value) {
+            Integer index = indices.get(value);
+            if (index == null) {
+                index = add(1);
+                indices.put(value, index);
+                entries.u1(INTEGER);
+                entries.u4(value);
+            }
+            return index;
+        }
+
+        // Keyed by bit pattern, so -0.0 and each NaN keep their own constant
+        int doubleConstant(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            Integer index = indices.get(bits);
+            if (index == null) {
+                index = add(2); // A double takes two entries
+                indices.put(bits, index);
+                entries.u1(DOUBLE);
+                entries.u4((int) (bits >>> 32));
+                entries.u4((int) bits);
+            }
+            return index;
+        }
+
+        private int add(int slots) {
+            int index = next;
+            next += slots;
+            return index;
+        }
+
+        // Returns constant_pool_count: one more than the highest index
+        int size() {
+            return next;
+        }
+
+        void writeTo(Bytes out) {
+            out.u2(next);
+            out.bytes(entries.toByteArray());
+        }
+    }
+
+    // A growable big-endian byte buffer, the byte order of class files
+    private static class Bytes {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void u1(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void u2(int value) {
+            u1(value >>> 8);
+            u1(value);
+        }
+
+        void u4(int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void bytes(byte[] value) {
+            for (byte b : value) {
+                u1(b);
+            }
+        }
+
+        void utf(String value) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try {
+                new DataOutputStream(buffer).writeUTF(value); // Modified UTF-8 with a u2 length, as class files use
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytes(buffer.toByteArray());
+        }
+
+        // Overwrites two bytes already written
+        void patchU2(int position, int value) {
+            bytes[position] = (byte) (value >>> 8);
+            bytes[position + 1] = (byte) value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
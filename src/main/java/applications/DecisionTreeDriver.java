@@ -1,10 +1,17 @@
 package applications;
 
 import algorithms.DecisionTree;
+import algorithms.OutOfCoreTreeBuilder;
+import datastructures.Dataset;
 import datastructures.TreeNode;
 import graphics.TreeVisualizer;
 import utility.CSVReader;
+import utility.MappedCSVParser;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -46,25 +53,33 @@ public class DecisionTreeDriver {
      * @param maxDepth Maximum depth of the decision tree.
      * @param testCases Test cases for evaluating the tree.
      * @param expectedValues Expected outcomes for the test cases.
+     * @param outOfCore Build the tree straight from the file, one pass per
+     *                  level, without loading it; for files too large to load.
      *
      */
     static class DataSet {
         String filePath;
         boolean process;
+        boolean outOfCore; // Build from the file, one pass per level, without loading it
         List<Integer> ignoreColumns;
         int maxDepth;
         List<List<String>> testCases;
         List<Double> expectedValues;
 
-        DataSet(String filePath, List<Integer> ignoreColumns, int maxDepth, List<List<String>> testCases, List<Double> expectedValues) {
+        DataSet(String filePath, List<Integer> ignoreColumns, int maxDepth, List<List<String>> testCases, List<Double> expectedValues, boolean outOfCore) {
             this.filePath = filePath;
             this.ignoreColumns = ignoreColumns;
             this.maxDepth = maxDepth;
             this.testCases = testCases;
             this.expectedValues = expectedValues;
+            this.outOfCore = outOfCore;
             this.process = true;
         }
 
+        DataSet(String filePath, List<Integer> ignoreColumns, int maxDepth, List<List<String>> testCases, List<Double> expectedValues) {
+            this(filePath, ignoreColumns, maxDepth, testCases, expectedValues, false);
+        }
+
         public DataSet( String filePath,
                         List<Integer> ignoreColumns,
                         int maxDepth) {
@@ -73,21 +88,50 @@ public class DecisionTreeDriver {
     }
 
     private static void processDataSet(DataSet dataset) {
-        // Read the entire dataset
-        List<List<String>> data = CSVReader.readCSV(dataset.filePath);
-        for (int colIndex : dataset.ignoreColumns) {
-            data.forEach(row -> row.remove(colIndex));
-            // remove extraneous columns
-        }
-        List<String> features = new ArrayList<>(data.get(0).subList(0, data.get(0).size() - 1));
+        DecisionTree decisionTree = new DecisionTree();
+        List<String> features;
+        TreeNode tree;
+        if (dataset.outOfCore) {
+            // Stream the file once per tree level instead of loading it
+            List<String> header;
+            try (FileChannel channel = FileChannel.open(Path.of(dataset.filePath), StandardOpenOption.READ)) {
+                header = new ArrayList<>(MappedCSVParser.readHeader(channel).names);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            for (int colIndex : dataset.ignoreColumns) {
+                header.remove(colIndex); // remove extraneous columns, as Dataset.withoutColumn does
+            }
+            features = new ArrayList<>(header.subList(0, header.size() - 1));
+            String target = header.get(header.size() - 1);
+
+            System.out.println("\n\nBuilding tree out of core with --> ");
+            System.out.println("*** Features = " + features + "\n");
+
+            try {
+                tree = new OutOfCoreTreeBuilder().buildTree(Path.of(dataset.filePath), features, target, dataset.maxDepth);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        } else {
+            // Read the entire dataset into primitive columns
+            Dataset data = CSVReader.readDataset(dataset.filePath);
+            for (int colIndex : dataset.ignoreColumns) {
+                data = data.withoutColumn(colIndex);
+                // remove extraneous columns
+            }
+            List<String> header = data.getHeader();
+            features = new ArrayList<>(header.subList(0, header.size() - 1));
 
-        System.out.println("\n\nBuilding tree with --> ");
-        System.out.println("*** Features = " + features + "\n");
+            System.out.println("\n\nBuilding tree with --> ");
+            System.out.println("*** Features = " + features + "\n");
 
-        String target = data.get(0).get(data.get(0).size() - 1);
+            String target = header.get(header.size() - 1);
 
-        DecisionTree decisionTree = new DecisionTree();
-        TreeNode tree = decisionTree.buildTree(data, features, target, 0, dataset.maxDepth);
+            tree = decisionTree.buildTree(data, features, target, 0, dataset.maxDepth);
+        }
 
         // Visualize the tree
         TreeVisualizer.display(tree);
@@ -104,7 +148,8 @@ public class DecisionTreeDriver {
             for (int i = 0; i < dataset.testCases.size(); i++) {
                 List<String> dataPoint = dataset.testCases.get(i);
                 Double expectedValue = dataset.expectedValues.get(i);
-                double prediction = decisionTree.predict(tree, dataPoint, features);
+                double[] row = dataPoint.stream().mapToDouble(Double::parseDouble).toArray();
+                double prediction = decisionTree.predict(tree, row, features);
 
                 StringBuilder testCaseStr = new StringBuilder();
                 for (int j = 0; j < features.size(); j++) {
@@ -149,7 +194,11 @@ public class DecisionTreeDriver {
                 Arrays.asList(5.0, 10.0)
         ));
 
+        // --out-of-core builds every tree straight from its file instead,
+        //  as for files too large to load
+        boolean outOfCore = Arrays.asList(args).contains("--out-of-core");
         for (DataSet dataset : datasets) {
+            dataset.outOfCore |= outOfCore;
             if (dataset.process) {
                 processDataSet(dataset);
             }
@@ -0,0 +1,264 @@
+package applications;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <strong>PredictionLoadTest</strong> - Sends scoring requests to a
+ * {@link PredictionServer} at a fixed rate and reports the latency
+ * percentiles and the throughput it sustained.<br><br>
+ * <p>
+ * The load is open-loop: request i is due at <tt>start + i / rate</tt> no
+ * matter how earlier requests fared, and its latency is measured from that
+ * due time, not from when it was actually sent. A server that falls behind
+ * therefore shows up in the percentiles instead of quietly lowering the
+ * request rate. Requests go out over a fixed set of keep-alive connections,
+ * each on its own thread with one request in flight, written and read as
+ * plain HTTP/1.1 on the socket; a general-purpose HTTP client costs more per
+ * request than the server does. The first {@link #WARMUP_SECONDS} seconds
+ * are sent but not measured, so the JIT has compiled both sides. Rows are
+ * random values, sent as JSON arrays in the feature order the server
+ * reports at <tt>/model</tt>.<br><br>
+ * </p>
+ *
+ * Usage: <tt>java applications.PredictionLoadTest [url] [requests-per-second]
+ * [seconds] [rows-per-request] [connections]</tt>, by default
+ * <tt>http://localhost:8080 50000 10 1 64</tt>. If every connection is busy
+ * when a request is due, it waits, and the wait counts toward its latency;
+ * add connections until the reported throughput matches the rate.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class PredictionLoadTest {
+    public static final int WARMUP_SECONDS = 2;
+    private static final int NUM_BODIES = 64; // Distinct request bodies, sent in turn
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        URI uri = URI.create((args.length > 0) ? args[0] : "http://localhost:" + PredictionServer.DEFAULT_PORT);
+        int rate = (args.length > 1) ? Integer.parseInt(args[1]) : 50_000;
+        int seconds = (args.length > 2) ? Integer.parseInt(args[2]) : 10;
+        int rowsPerRequest = (args.length > 3) ? Integer.parseInt(args[3]) : 1;
+        int connections = (args.length > 4) ? Integer.parseInt(args[4]) : 64;
+        if (rate < 1 || seconds < 1 || rowsPerRequest < 1 || connections < 1) {
+            throw new IllegalArgumentException("Rate, seconds, rows per request and connections must be positive");
+        }
+
+        int numFeatures;
+        try (Connection connection = new Connection(uri)) {
+            numFeatures = countFeatures(connection.exchange(request(uri, "GET", "/model", null)));
+        }
+        byte[][] requests = new byte[NUM_BODIES][];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int b = 0; b < NUM_BODIES; b++) {
+            requests[b] = request(uri, "POST", "/predict", body(random, numFeatures, rowsPerRequest));
+        }
+
+        int warmup = (int) Math.min((long) rate * WARMUP_SECONDS, Integer.MAX_VALUE / 2);
+        int total = (int) Math.min(warmup + (long) rate * seconds, Integer.MAX_VALUE);
+        long[] latencies = new long[total];
+        long[] finished = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime() + 100_000_000L; // Time to open the connections
+
+        System.out.println("Sending " + rate + " requests/s of " + rowsPerRequest + " row(s) with "
+                + numFeatures + " features to " + uri + " over " + connections + " connections for "
+                + seconds + " s, after " + WARMUP_SECONDS + " s of warm-up");
+        Thread[] threads = new Thread[connections];
+        for (int c = 0; c < connections; c++) {
+            threads[c] = new Thread(() -> {
+                Connection connection = null;
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long due = start + i * interval;
+                    waitUntil(due);
+                    try {
+                        if (connection == null) {
+                            connection = new Connection(uri);
+                        }
+                        connection.exchange(requests[i % NUM_BODIES]);
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                        closeQuietly(connection);
+                        connection = null; // Reconnect for the next request
+                    }
+                    long now = System.nanoTime();
+                    latencies[i] = now - due;
+                    finished[i] = now;
+                }
+                closeQuietly(connection);
+            }, "load-test-" + c);
+            threads[c].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report(latencies, finished, warmup, start + warmup * interval, errors.get());
+    }
+
+    // One keep-alive HTTP/1.1 connection with one request in flight
+    private static class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+
+        Connection(URI uri) throws IOException {
+            socket = new Socket(uri.getHost(), (uri.getPort() > 0) ? uri.getPort() : 80);
+            socket.setTcpNoDelay(true);
+            out = socket.getOutputStream();
+            in = new BufferedInputStream(socket.getInputStream());
+        }
+
+        // Sends a request and returns the response body; a status other than 200 is an error
+        String exchange(byte[] request) throws IOException {
+            out.write(request);
+            out.flush();
+            String status = readLine();
+            int length = -1;
+            String header;
+            while (!(header = readLine()).isEmpty()) {
+                int colon = header.indexOf(':');
+                if (colon > 0 && header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+                    length = Integer.parseInt(header.substring(colon + 1).trim());
+                }
+            }
+            if (length < 0) {
+                throw new IOException("Response without Content-Length: " + status);
+            }
+            byte[] body = in.readNBytes(length);
+            if (body.length < length) {
+                throw new IOException("Connection closed in a response body");
+            }
+            if (!status.startsWith("HTTP/1.1 200")) {
+                throw new IOException(status);
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    throw new IOException("Connection closed");
+                }
+                if (c != '\r') {
+                    line.write(c);
+                }
+            }
+            return line.toString(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Already failed; nothing left to release
+            }
+        }
+    }
+
+    // Waits for a point in time, parking while it is far and spinning close to it
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            if (remaining > 200_000) {
+                LockSupport.parkNanos(remaining - 100_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static void report(long[] latencies, long[] finished, int warmup, long measuredStart, int errors) {
+        long[] measured = Arrays.copyOfRange(latencies, warmup, latencies.length);
+        long last = measuredStart;
+        for (int i = warmup; i < finished.length; i++) {
+            last = Math.max(last, finished[i]);
+        }
+        Arrays.sort(measured);
+        double elapsed = Math.max(last - measuredStart, 1) / 1e9;
+        System.out.printf("Requests: %d, errors: %d, throughput: %.0f requests/s%n",
+                measured.length, errors, measured.length / elapsed);
+        System.out.printf("Latency (us): p50 %.0f, p90 %.0f, p99 %.0f, p99.9 %.0f, max %.0f%n",
+                percentile(measured, 0.50), percentile(measured, 0.90), percentile(measured, 0.99),
+                percentile(measured, 0.999), percentile(measured, 1.0));
+    }
+
+    // Returns a percentile of sorted nanosecond values, in microseconds
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+
+    // Counts the names in the server's {"features":[...]} answer
+    private static int countFeatures(String model) {
+        int count = 0;
+        boolean inString = false;
+        for (int i = model.indexOf('['); i >= 0 && i < model.length(); i++) {
+            char c = model.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                inString = !inString;
+                if (inString) {
+                    count++;
+                }
+            } else if (c == ']' && !inString) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    // Returns a JSON array of random rows
+    private static String body(SplittableRandom random, int numFeatures, int rowsPerRequest) {
+        StringBuilder body = new StringBuilder("[");
+        for (int r = 0; r < rowsPerRequest; r++) {
+            body.append((r > 0) ? ",[" : "[");
+            for (int j = 0; j < numFeatures; j++) {
+                if (j > 0) {
+                    body.append(',');
+                }
+                body.append(Math.round(random.nextDouble(-10, 10) * 100) / 100.0);
+            }
+            body.append(']');
+        }
+        return body.append(']').toString();
+    }
+
+    private static byte[] request(URI uri, String method, String path, String body) {
+        byte[] content = (body == null) ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        String head = method + " " + path + " HTTP/1.1\r\n"
+                + "Host: " + uri.getHost() + "\r\n"
+                + ((body == null) ? "" : "Content-Type: application/json\r\n")
+                + "Content-Length: " + content.length + "\r\n\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.US_ASCII);
+        byte[] request = Arrays.copyOf(headBytes, headBytes.length + content.length);
+        System.arraycopy(content, 0, request, headBytes.length, content.length);
+        return request;
+    }
+}
@@ -0,0 +1,710 @@
+package applications;
+
+import algorithms.BatchPredictor;
+import algorithms.MappedModel;
+import algorithms.ModelFile;
+import algorithms.ModelRegistry;
+import algorithms.Predictor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <strong>PredictionServer</strong> - A local HTTP scoring service for the
+ * live model of a <tt>ModelRegistry</tt>, built on the JDK's
+ * <tt>com.sun.net.httpserver</tt>. Each
+ * request is handled on its own virtual thread when the JDK has them (21
+ * and later), and on a cached thread pool otherwise.<br><br>
+ * <p>
+ * Request threads do not score rows themselves. They parse the body, queue
+ * the rows and wait, while a single batching thread takes every request
+ * queued so far (up to {@link #getMaxBatchRows()} rows), lays the rows out
+ * by column and scores them in one <tt>BatchPredictor</tt> pass. Under load
+ * many requests share one pass; when idle, a request is scored as soon as it
+ * arrives, without waiting for others. Each pass reads the registry's live
+ * version once and scores all its rows with it, so publishing a new model
+ * never mixes versions within a request, and every answer names the version
+ * that produced it.<br><br>
+ * </p>
+ * <strong>Endpoints:</strong>
+ * <ul>
+ * <li><tt>POST /predict</tt> with <tt>Content-Type: application/json</tt>:
+ * one row or an array of rows. A row is an array of numbers in feature order,
+ * or an object mapping feature names to numbers (missing features and
+ * <tt>null</tt> are NaN). Answers <tt>{"version":n,"predictions":[...]}</tt>.</li>
+ * <li><tt>POST /predict</tt> with <tt>Content-Type: text/csv</tt>: one row per
+ * line in feature order, optionally after a header line naming the features.
+ * Non-numeric cells are NaN, as in <tt>CSVReader</tt>. Answers one prediction
+ * per line, with the version in the <tt>X-Model-Version</tt> header.</li>
+ * <li><tt>GET /model</tt>: <tt>{"version":n,"features":[...]}</tt>, the live
+ * version and the expected row order.</li>
+ * <li><tt>GET /health</tt>: <tt>ok</tt>.</li>
+ * </ul>
+ * Malformed rows get status 400, bodies over {@link #getMaxRequestBytes()}
+ * bytes or {@link #getMaxRequestRows()} rows get 413, and requests before any
+ * model is published get 503. The server listens on the loopback address
+ * unless it is started with another one; it has no authentication.<br><br>
+ *
+ * Usage: <tt>java applications.PredictionServer model-file [port [bind-address]]</tt> serves
+ * a file written by <tt>ModelFile.save</tt>; see {@link PredictionLoadTest}
+ * for measuring its latency. The JDK server leaves Nagle's algorithm on,
+ * which can delay each answer by a delayed ACK; <tt>main</tt> turns it off,
+ * and a program that embeds the server should start the JVM with
+ * <tt>-Dsun.net.httpserver.nodelay=true</tt>.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class PredictionServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_BATCH_ROWS = 4096;
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 4 << 20;
+    public static final int DEFAULT_MAX_REQUEST_ROWS = 65536;
+
+    private final ModelRegistry registry;
+    private final List<String> features;
+    private final Map<String, Integer> featureIndex = new HashMap<>();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private volatile int maxBatchRows = DEFAULT_MAX_BATCH_ROWS; // Set by callers, read by the batcher
+    private volatile int maxRequestBytes = DEFAULT_MAX_REQUEST_BYTES;
+    private volatile int maxRequestRows = DEFAULT_MAX_REQUEST_ROWS;
+    private HttpServer server;
+    private ExecutorService executor;
+    private Thread batcher;
+    private volatile boolean running;
+
+    // Rows waiting to be scored, and where their predictions go
+    private static class Pending {
+        final double[][] rows;
+        final CompletableFuture<Scored> result = new CompletableFuture<>();
+
+        Pending(double[][] rows) {
+            this.rows = rows;
+        }
+    }
+
+    // The predictions for one request and the model version that made them
+    private static class Scored {
+        final long version;
+        final double[] predictions;
+
+        Scored(long version, double[] predictions) {
+            this.version = version;
+            this.predictions = predictions;
+        }
+    }
+
+    // Creates a server for one model, published as version 1 of a new registry
+    public PredictionServer(Predictor model, List<String> features) {
+        this(new ModelRegistry(features));
+        registry.publish(model);
+    }
+
+    /**
+     * Creates a server for the live model of a registry. Models published to
+     * the registry later are served from the next batch on. Call
+     * {@link #start(int)} to serve.
+     *
+     * @param registry The registry to score with.
+     */
+    public PredictionServer(ModelRegistry registry) {
+        this.registry = registry;
+        this.features = registry.getFeatures();
+        for (int j = 0; j < features.size(); j++) {
+            featureIndex.put(features.get(j), j);
+        }
+    }
+
+    // Starts serving on the loopback address only
+    public void start(int port) throws IOException {
+        start(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Starts serving on the given address. The server has no authentication,
+     * so binding anything but the loopback address exposes the model to
+     * whoever can reach it.
+     *
+     * @param bindAddress The address to listen on; the wildcard address listens on all interfaces.
+     * @param port The port to listen on; 0 picks a free one, see {@link #getPort()}.
+     * @throws IOException if the port cannot be bound.
+     */
+    public synchronized void start(InetAddress bindAddress, int port) throws IOException {
+        if (running) {
+            throw new IllegalStateException("The server is already running");
+        }
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 1024);
+        server.createContext("/predict", this::handlePredict);
+        server.createContext("/model", this::handleModel);
+        server.createContext("/health", exchange -> respond(exchange, 200, "text/plain", "ok"));
+        executor = newPerTaskExecutor();
+        server.setExecutor(executor);
+
+        running = true;
+        batcher = new Thread(this::runBatches, "prediction-batcher");
+        batcher.setDaemon(true);
+        batcher.start();
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for the ones in flight,
+     * and stops the batching thread.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        server.stop(1);
+        running = false;
+        batcher.interrupt();
+        executor.shutdown();
+    }
+
+    // Returns the registry whose live model is served
+    public ModelRegistry getRegistry() {
+        return registry;
+    }
+
+    // Returns the port the server listens on
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Sets the most rows scored in one pass; a larger request is still scored whole.
+    //  May be changed while the server runs; it applies from the next pass
+    public void setMaxBatchRows(int maxBatchRows) {
+        if (maxBatchRows < 1) {
+            throw new IllegalArgumentException("Max batch rows must be at least 1");
+        }
+        this.maxBatchRows = maxBatchRows;
+    }
+
+    // Returns the most rows scored in one pass
+    public int getMaxBatchRows() {
+        return maxBatchRows;
+    }
+
+    // Sets the largest /predict body accepted, in bytes; larger ones get 413
+    public void setMaxRequestBytes(int maxRequestBytes) {
+        if (maxRequestBytes < 1 || maxRequestBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Max request bytes must be between 1 and " + (Integer.MAX_VALUE - 8));
+        }
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    // Returns the largest /predict body accepted, in bytes
+    public int getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    // Sets the most rows accepted in one /predict request; more get 413
+    public void setMaxRequestRows(int maxRequestRows) {
+        if (maxRequestRows < 1) {
+            throw new IllegalArgumentException("Max request rows must be at least 1");
+        }
+        this.maxRequestRows = maxRequestRows;
+    }
+
+    // Returns the most rows accepted in one /predict request
+    public int getMaxRequestRows() {
+        return maxRequestRows;
+    }
+
+    /**
+     * Scores rows through the batching thread, together with whatever other
+     * requests are waiting. Blocks until the predictions are ready.
+     *
+     * @param rows Rows in feature order.
+     * @return The prediction for rows[i] at index i.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public double[] score(double[][] rows) throws InterruptedException {
+        return submit(rows).predictions;
+    }
+
+    private Scored submit(double[][] rows) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("The server is not running");
+        }
+        for (double[] row : rows) {
+            if (row.length != features.size()) {
+                throw new IllegalArgumentException("A row has " + row.length + " values but "
+                        + features.size() + " features are expected");
+            }
+        }
+        if (rows.length == 0) {
+            ModelRegistry.Version live = registry.current();
+            return new Scored((live == null) ? 0 : live.getNumber(), new double[0]);
+        }
+        Pending pending = new Pending(rows);
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("The server has stopped"); // The batcher may be gone
+        }
+        try {
+            return pending.result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scoring failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Runs on the batching thread: takes all queued requests, scores them together
+    private void runBatches() {
+        List<Pending> batch = new ArrayList<>();
+        double[][] columns = new double[features.size()][maxBatchRows];
+        double[] predictions = new double[maxBatchRows];
+        while (running || !queue.isEmpty()) {
+            Pending first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue; // stop() interrupts; the loop condition decides
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.clear();
+            batch.add(first);
+            int numRows = first.rows.length;
+            int limit = maxBatchRows;
+            Pending next;
+            while ((next = queue.peek()) != null && numRows + next.rows.length <= limit) {
+                batch.add(queue.poll());
+                numRows += next.rows.length;
+            }
+
+            try {
+                ModelRegistry.Version version = registry.current(); // One version for the whole batch
+                if (version == null) {
+                    throw new IllegalStateException("No model has been published");
+                }
+                if (limit > predictions.length) {
+                    columns = new double[features.size()][limit];
+                    predictions = new double[limit];
+                }
+                // A single request over the limit gets buffers of its own, which are not kept
+                double[][] batchColumns = columns;
+                double[] batchPredictions = predictions;
+                if (numRows > predictions.length) {
+                    batchColumns = new double[features.size()][numRows];
+                    batchPredictions = new double[numRows];
+                }
+                int offset = 0;
+                for (Pending pending : batch) {
+                    for (double[] row : pending.rows) {
+                        for (int j = 0; j < row.length; j++) {
+                            batchColumns[j][offset] = row[j];
+                        }
+                        offset++;
+                    }
+                }
+                BatchPredictor.predictBatch(version.getModel(), batchColumns, numRows, batchPredictions);
+                offset = 0;
+                for (Pending pending : batch) {
+                    int n = pending.rows.length;
+                    pending.result.complete(new Scored(version.getNumber(),
+                            Arrays.copyOfRange(batchPredictions, offset, offset + n)));
+                    offset += n;
+                }
+            } catch (RuntimeException e) {
+                for (Pending pending : batch) {
+                    pending.result.completeExceptionally(e);
+                }
+            }
+        }
+        // Anything queued after the last batch gets an error instead of waiting forever
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            left.result.completeExceptionally(new IllegalStateException("The server has stopped"));
+        }
+    }
+
+    private void handlePredict(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "text/plain", "Use POST");
+                return;
+            }
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            boolean csv = contentType != null && contentType.startsWith("text/csv");
+            String body = readBody(exchange, maxRequestBytes);
+            if (body == null) {
+                respond(exchange, 413, "text/plain", "The body is over " + maxRequestBytes + " bytes");
+                return;
+            }
+
+            double[][] rows;
+            try {
+                rows = csv ? parseCsv(body) : new JsonRows(body).parse();
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, "text/plain", e.getMessage());
+                return;
+            }
+            if (rows.length > maxRequestRows) {
+                respond(exchange, 413, "text/plain", "The request has " + rows.length
+                        + " rows; at most " + maxRequestRows + " are accepted");
+                return;
+            }
+            Scored scored = submit(rows);
+            double[] predictions = scored.predictions;
+            exchange.getResponseHeaders().set("X-Model-Version", Long.toString(scored.version));
+
+            StringBuilder out = new StringBuilder(predictions.length * 20);
+            if (csv) {
+                for (double prediction : predictions) {
+                    out.append(prediction).append('\n');
+                }
+                respond(exchange, 200, "text/csv", out.toString());
+            } else {
+                out.append("{\"version\":").append(scored.version).append(",\"predictions\":[");
+                for (int i = 0; i < predictions.length; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    appendJsonNumber(out, predictions[i]);
+                }
+                out.append("]}");
+                respond(exchange, 200, "application/json", out.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "text/plain", "Interrupted");
+        } catch (IllegalStateException e) {
+            respond(exchange, 503, "text/plain", e.getMessage());
+        }
+    }
+
+    // Reads a request body of at most maxBytes, or returns null if it is longer,
+    //  without reading more than one byte past the limit
+    private static String readBody(HttpExchange exchange, int maxBytes) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        try {
+            if (length != null && Long.parseLong(length.trim()) > maxBytes) {
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            // Let the stream decide
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(maxBytes + 1);
+            if (bytes.length > maxBytes) {
+                return null;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void handleModel(HttpExchange exchange) throws IOException {
+        ModelRegistry.Version live = registry.current();
+        StringBuilder out = new StringBuilder("{\"version\":").append((live == null) ? 0 : live.getNumber())
+                .append(",\"features\":[");
+        for (int j = 0; j < features.size(); j++) {
+            if (j > 0) {
+                out.append(',');
+            }
+            out.append('"').append(features.get(j).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        out.append("]}");
+        respond(exchange, 200, "application/json", out.toString());
+    }
+
+    // JSON has no NaN or infinity, so those are written as null
+    private static void appendJsonNumber(StringBuilder out, double value) {
+        if (Double.isFinite(value)) {
+            out.append(value);
+        } else {
+            out.append("null");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Parses CSV rows in feature order; a first line naming the features is a header
+    private double[][] parseCsv(String body) {
+        List<double[]> rows = new ArrayList<>();
+        int[] order = null; // Position of each cell's feature, from the header
+        String[] lines = body.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            String[] cells = lines[i].split(",", -1);
+            if (rows.isEmpty() && order == null && featureIndex.containsKey(cells[0].trim())) {
+                order = new int[cells.length];
+                for (int c = 0; c < cells.length; c++) {
+                    Integer index = featureIndex.get(cells[c].trim());
+                    if (index == null) {
+                        throw new IllegalArgumentException("Unknown feature in header: " + cells[c].trim());
+                    }
+                    order[c] = index;
+                }
+                continue;
+            }
+            if (cells.length != ((order != null) ? order.length : features.size())) {
+                throw new IllegalArgumentException("Line " + (i + 1) + " has " + cells.length
+                        + " values but " + features.size() + " features are expected");
+            }
+            double[] row = new double[features.size()];
+            Arrays.fill(row, Double.NaN);
+            for (int c = 0; c < cells.length; c++) {
+                row[(order != null) ? order[c] : c] = parseNumber(cells[c].trim());
+            }
+            rows.add(row);
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    private static double parseNumber(String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // A small JSON reader for what /predict accepts: a row, or an array of
+    //  rows, where a row is an array of numbers or an object of feature names
+    private class JsonRows {
+        private final String text;
+        private int position;
+
+        JsonRows(String text) {
+            this.text = text;
+        }
+
+        double[][] parse() {
+            List<double[]> rows = new ArrayList<>();
+            char first = peek();
+            int start = position;
+            if (first == '{') {
+                rows.add(objectRow());
+            } else {
+                expect('[');
+                char inner = peek();
+                if (inner == ']') {
+                    position++; // No rows
+                } else if (inner == '[' || inner == '{') {
+                    while (true) {
+                        rows.add((peek() == '{') ? objectRow() : arrayRow());
+                        if (peek() == ',') {
+                            position++;
+                            continue;
+                        }
+                        expect(']');
+                        break;
+                    }
+                } else {
+                    position = start; // A single array row: reread its bracket
+                    rows.add(arrayRow());
+                }
+            }
+            if (peek() != 0) {
+                throw error("Unexpected text after the rows");
+            }
+            return rows.toArray(new double[0][]);
+        }
+
+        private double[] arrayRow() {
+            double[] row = new double[features.size()];
+            expect('[');
+            int count = 0;
+            if (peek() == ']') {
+                position++;
+            } else {
+                while (true) {
+                    double value = number();
+                    if (count < row.length) {
+                        row[count] = value;
+                    }
+                    count++;
+                    if (peek() == ',') {
+                        position++;
+                        continue;
+                    }
+                    expect(']');
+                    break;
+                }
+            }
+            if (count != row.length) {
+                throw new IllegalArgumentException("A row has " + count + " values but "
+                        + row.length + " features are expected");
+            }
+            return row;
+        }
+
+        private double[] objectRow() {
+            double[] row = new double[features.size()];
+            Arrays.fill(row, Double.NaN);
+            expect('{');
+            if (peek() == '}') {
+                position++;
+                return row;
+            }
+            while (true) {
+                String name = string();
+                expect(':');
+                double value = number();
+                Integer index = featureIndex.get(name);
+                if (index == null) {
+                    throw new IllegalArgumentException("Unknown feature: " + name);
+                }
+                row[index] = value;
+                if (peek() == ',') {
+                    position++;
+                    continue;
+                }
+                expect('}');
+                return row;
+            }
+        }
+
+        // A number, null (NaN) or a string holding a number
+        private double number() {
+            char c = peek();
+            if (c == 'n' && text.startsWith("null", position)) {
+                position += 4;
+                return Double.NaN;
+            }
+            if (c == '"') {
+                return parseNumber(string());
+            }
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a number");
+            }
+            try {
+                return Double.parseDouble(text.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("Malformed number");
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c == '\\' && position < text.length()) {
+                    char escaped = text.charAt(position++);
+                    switch (escaped) {
+                        case 'n':
+                            out.append('\n');
+                            break;
+                        case 't':
+                            out.append('\t');
+                            break;
+                        case 'r':
+                            out.append('\r');
+                            break;
+                        case 'b':
+                            out.append('\b');
+                            break;
+                        case 'f':
+                            out.append('\f');
+                            break;
+                        case 'u':
+                            if (position + 4 > text.length()) {
+                                throw error("Malformed escape");
+                            }
+                            out.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                            position += 4;
+                            break;
+                        default:
+                            out.append(escaped);
+                    }
+                } else {
+                    out.append(c);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            position++;
+        }
+
+        // Skips whitespace and returns the next character, or 0 at the end
+        private char peek() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            return (position < text.length()) ? text.charAt(position) : 0;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+
+    // Returns a virtual-thread-per-task executor where the JDK has one (21 and
+    //  later), found by reflection so the code still compiles and runs on 17
+    static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "prediction-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java applications.PredictionServer model-file [port [bind-address]]");
+            return;
+        }
+        // Answers are written as headers and body; without this Nagle's
+        //  algorithm can hold the body back for a delayed ACK. The JDK reads
+        //  it once, when the first server is created
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        MappedModel model = ModelFile.load(Path.of(args[0]));
+        int port = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        InetAddress bindAddress = (args.length > 2) ? InetAddress.getByName(args[2]) : InetAddress.getLoopbackAddress();
+        PredictionServer server = new PredictionServer(model, model.getFeatures());
+        server.start(bindAddress, port);
+        System.out.println("Serving " + model.getTreeCount() + " tree(s) over " + model.getFeatures().size()
+                + " features on http://" + bindAddress.getHostAddress() + ":" + server.getPort() + "/predict");
+    }
+}
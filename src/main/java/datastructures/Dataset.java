@@ -0,0 +1,136 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <strong>Dataset</strong> - A columnar, numeric view of a CSV table. The
+ * header row is kept separately as a list of column names, and every column
+ * is stored as its own primitive <tt>double[]</tt>, so training code can read
+ * values directly without parsing or boxing them.<br><br>
+ * <p>
+ * Cells are parsed exactly once, when the dataset is created. A cell that is
+ * not a number (for example a date or an id column that is later ignored), or
+ * a cell missing from a short row, is stored as <tt>Double.NaN</tt>.
+ * Column arrays are shared, not copied, by the methods that derive a new
+ * dataset from an existing one; callers should treat them as read-only.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      Dataset data = CSVReader.readDataset("src/main/resources/data/wine-simple.csv");
+ *      double[] alcohol = data.getColumn(data.indexOf("X11: Alcohol"));
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class Dataset {
+    private final List<String> header;
+    private final double[][] columns;
+    private final int numRows;
+
+    /**
+     * Constructs a Dataset from a header and one column array per header entry.
+     * <br><br>
+     * @param header Column names, in column order.
+     * @param columns One array per column; each must hold at least numRows values.
+     * @param numRows Number of data rows (the header is not counted).
+     */
+    public Dataset(List<String> header, double[][] columns, int numRows) {
+        if (header.size() != columns.length) {
+            throw new IllegalArgumentException("Header has " + header.size()
+                    + " names but " + columns.length + " columns were given");
+        }
+        for (double[] column : columns) {
+            if (column.length < numRows) {
+                throw new IllegalArgumentException("Column shorter than " + numRows + " rows");
+            }
+        }
+        this.header = List.copyOf(header);
+        this.columns = columns;
+        this.numRows = numRows;
+    }
+
+    /**
+     * Builds a Dataset from the records returned by <tt>CSVReader.readCSV</tt>.
+     * The first record is used as the header row.
+     * <br><br>
+     * @param records The CSV records, header first.
+     * @return The parsed, columnar dataset.
+     */
+    public static Dataset fromRecords(List<List<String>> records) {
+        if (records.isEmpty()) {
+            return new Dataset(new ArrayList<>(), new double[0][], 0);
+        }
+        List<String> header = records.get(0);
+        int numRows = records.size() - 1;
+        double[][] columns = new double[header.size()][numRows];
+
+        for (int i = 0; i < numRows; i++) {
+            List<String> record = records.get(i + 1);
+            for (int j = 0; j < columns.length; j++) {
+                columns[j][i] = (j < record.size()) ? parseCell(record.get(j)) : Double.NaN;
+            }
+        }
+        return new Dataset(header, columns, numRows);
+    }
+
+    // Parses one cell, mapping anything that is not a number to NaN
+    private static double parseCell(String cell) {
+        try {
+            return Double.parseDouble(cell);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // Returns the column names (header row) of the dataset
+    public List<String> getHeader() {
+        return header;
+    }
+
+    // Returns the number of data rows, not counting the header
+    public int numRows() {
+        return numRows;
+    }
+
+    // Returns the number of columns
+    public int numColumns() {
+        return columns.length;
+    }
+
+    // Returns the index of the named column, or -1 if there is no such column
+    public int indexOf(String name) {
+        return header.indexOf(name);
+    }
+
+    // Returns the backing array of a column; do not modify it
+    public double[] getColumn(int columnIndex) {
+        return columns[columnIndex];
+    }
+
+    // Returns the value at the given row and column
+    public double get(int row, int columnIndex) {
+        return columns[columnIndex][row];
+    }
+
+    /**
+     * Returns a dataset without the given column. The remaining column arrays
+     * are shared with this dataset.
+     * <br><br>
+     * @param columnIndex Index of the column to drop.
+     * @return A new dataset with one column fewer.
+     */
+    public Dataset withoutColumn(int columnIndex) {
+        List<String> names = new ArrayList<>(header);
+        names.remove(columnIndex);
+        double[][] remaining = new double[columns.length - 1][];
+        for (int j = 0, k = 0; j < columns.length; j++) {
+            if (j != columnIndex) {
+                remaining[k++] = columns[j];
+            }
+        }
+        return new Dataset(names, remaining, numRows);
+    }
+}
@@ -1,10 +1,21 @@
 package utility;
 
+import datastructures.Dataset;
+
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
 
 //345678901234567890123456789012345678901234567890123456789012345678901234567890
 
@@ -33,6 +44,10 @@ import java.util.List;
  */
 
 public class CSVReader {
+    private static final long MIN_CHUNK_BYTES = 1L << 20; // Smaller chunks cost more than they save
+    private static final int CHUNKS_PER_THREAD = 4;       // Evens out chunks that parse slower
+    private static final Pattern CONTROL_WHITESPACE = Pattern.compile("[\\t\\n\\x0B\\f\\r]+");
+
     public static List<List<String>> readCSV(String filePath) {
 
         // This list will hold all records read from the CSV file.
@@ -43,10 +58,7 @@ public class CSVReader {
             String line;
             while ((line = br.readLine()) != null) {
 
-                // Remove extraneous whitespace characters, if any, but leave (intentional) spaces intact.
-                line = line.replaceAll("[\\t\\n\\x0B\\f\\r]+", "");
-                // Remove non-breaking spaces
-                line = line.replace("\u00A0", "");
+                line = clean(line);
 
                 // Split the line into individual values using a comma as the delimiter.
                 //      NOTE: if CVS file use different delimiter change this
@@ -67,4 +79,190 @@ public class CSVReader {
         }
         return records;
     }
-}
\ No newline at end of file
+
+    // Removes extraneous whitespace characters, if any, but leaves (intentional) spaces intact.
+    //  Non-breaking spaces are removed as well.
+    static String clean(String line) {
+        line = CONTROL_WHITESPACE.matcher(line).replaceAll("");
+        return line.replace("\u00A0", "");
+    }
+
+    /**
+     * Reads a CSV file into a columnar {@link Dataset}. The first row is used
+     * as the header and every other cell is parsed to a double once, here,
+     * so training code never has to parse it again. Cells are parsed straight
+     * into column buffers by {@link #readDatasetMapped(String)}, so no record
+     * lists are built on the way; the result equals
+     * <tt>Dataset.fromRecords(readCSV(filePath))</tt>.
+     *
+     * @param filePath Path to the CSV file.
+     * @return The dataset, with non-numeric cells stored as NaN.
+     */
+    public static Dataset readDataset(String filePath) {
+        return readDatasetMapped(filePath);
+    }
+
+    /**
+     * Reads a CSV file into a columnar {@link Dataset} by memory-mapping it.
+     * The bytes are scanned in place and numeric fields are written straight
+     * into primitive column buffers, without creating a String per field or
+     * a List per line. The header, whitespace and non-breaking space handling
+     * match {@link #readCSV(String)}, and so does the result.
+     *
+     * @param filePath Path to the CSV file.
+     * @return The dataset, with non-numeric cells stored as NaN.
+     */
+    public static Dataset readDatasetMapped(String filePath) {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedCSVParser.Header header = MappedCSVParser.readHeader(channel);
+            ColumnBuffers columns = new ColumnBuffers(header.names.size());
+            MappedCSVParser.scan(channel, header.dataStart, channel.size(), header.names.size(), columns);
+            return columns.toDataset(header.names);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new Dataset(new ArrayList<>(), new double[0][], 0);
+        }
+    }
+
+    /**
+     * Reads a CSV file into a columnar {@link Dataset} using every core of the
+     * common fork-join pool. See {@link #readDatasetParallel(String, ForkJoinPool)}.
+     *
+     * @param filePath Path to the CSV file.
+     * @return The dataset, identical to the one {@link #readDataset(String)} returns.
+     */
+    public static Dataset readDatasetParallel(String filePath) {
+        return readDatasetParallel(filePath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads a CSV file into a columnar {@link Dataset} in parallel. The data
+     * rows are split into byte ranges that start and end on line boundaries,
+     * each range is parsed from the memory-mapped file by its own fork-join
+     * task, and the per-range columns are then stitched together in the
+     * original row order. The output matches the serial readers exactly.
+     *
+     * @param filePath Path to the CSV file.
+     * @param pool The pool that parses the ranges.
+     * @return The dataset, with non-numeric cells stored as NaN.
+     */
+    public static Dataset readDatasetParallel(String filePath, ForkJoinPool pool) {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedCSVParser.Header header = MappedCSVParser.readHeader(channel);
+            int numColumns = header.names.size();
+            long end = channel.size();
+
+            // Cut the data rows into ranges of roughly equal size, moving each cut to a line start
+            long dataBytes = end - header.dataStart;
+            int chunks = (int) Math.max(1, Math.min(
+                    (long) pool.getParallelism() * CHUNKS_PER_THREAD, dataBytes / MIN_CHUNK_BYTES));
+            List<ParseTask> tasks = new ArrayList<>();
+            long start = header.dataStart;
+            for (int c = 1; c <= chunks && start < end; c++) {
+                long cut = (c == chunks) ? end
+                        : MappedCSVParser.nextLineStart(channel, header.dataStart + dataBytes * c / chunks);
+                if (cut > start) {
+                    tasks.add(new ParseTask(channel, start, cut, numColumns));
+                    start = cut;
+                }
+            }
+
+            pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                    return null;
+                }
+            });
+
+            // Stitch the ranges back together in file order
+            int numRows = 0;
+            for (ParseTask task : tasks) {
+                numRows += task.join().size();
+            }
+            double[][] columns = new double[numColumns][numRows];
+            int offset = 0;
+            for (ParseTask task : tasks) {
+                ColumnBuffers part = task.join();
+                for (int j = 0; j < numColumns; j++) {
+                    System.arraycopy(part.column(j), 0, columns[j], offset, part.size());
+                }
+                offset += part.size();
+            }
+            return new Dataset(header.names, columns, numRows);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return new Dataset(new ArrayList<>(), new double[0][], 0);
+        }
+    }
+
+    // Parses one line-aligned byte range of the file into its own column buffers
+    private static class ParseTask extends RecursiveTask<ColumnBuffers> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final int numColumns;
+
+        ParseTask(FileChannel channel, long start, long end, int numColumns) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.numColumns = numColumns;
+        }
+
+        @Override
+        protected ColumnBuffers compute() {
+            ColumnBuffers columns = new ColumnBuffers(numColumns);
+            try {
+                MappedCSVParser.scan(channel, start, end, numColumns, columns);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return columns;
+        }
+    }
+
+    // Growable primitive columns that parsed rows are appended to
+    static class ColumnBuffers implements MappedCSVParser.RowHandler {
+        private final double[][] columns;
+        private int size;
+
+        ColumnBuffers(int numColumns) {
+            this.columns = new double[numColumns][1024];
+        }
+
+        @Override
+        public void row(double[] values) {
+            if (columns.length == 0) {
+                size++;
+                return;
+            }
+            if (size == columns[0].length) {
+                for (int j = 0; j < columns.length; j++) {
+                    columns[j] = Arrays.copyOf(columns[j], size + (size >> 1));
+                }
+            }
+            for (int j = 0; j < columns.length; j++) {
+                columns[j][size] = values[j];
+            }
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        double[] column(int index) {
+            return columns[index];
+        }
+
+        // Trims the buffers to size and wraps them in a Dataset
+        Dataset toDataset(List<String> header) {
+            double[][] trimmed = new double[columns.length][];
+            for (int j = 0; j < columns.length; j++) {
+                trimmed[j] = Arrays.copyOf(columns[j], size);
+            }
+            return new Dataset(header, trimmed, size);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package utility;
+
+import datastructures.Dataset;
+
+/**
+ * <strong>CorrelationSums</strong> - The running sums behind the Pearson
+ * correlation of several features with one target. A single pass over the
+ * rows collects sumX, sumX&sup2; and sumXY for every feature together with sumY
+ * and sumY&sup2; for the target, so the target is read once per row no matter how
+ * many features are scored.<br><br>
+ * <p>
+ * Partial sums are mergeable: rows can be split into chunks, each chunk
+ * summed into its own object (for example on its own thread), and the
+ * objects combined with {@link #merge}. The correlations come out of
+ * {@link DataUtils#correlationFromSums}, so a single-chunk result is
+ * identical to calling <tt>DataUtils.calculateCorrelation</tt> per feature.
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      CorrelationSums sums = new CorrelationSums(new int[] {0, 1, 2}, 3);
+ *      sums.add(data, rows, 0, rows.length);
+ *      double[] correlations = sums.correlations();
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class CorrelationSums {
+    private static final int BLOCK_SIZE = 512; // Rows per block; the target buffer stays in L1
+    private final int[] featureIndices;
+    private final int targetIndex;
+    private final double[] sumX;
+    private final double[] sumX2;
+    private final double[] sumXY;
+    private double sumY;
+    private double sumY2;
+    private long count;
+
+    /**
+     * Creates empty sums for the given feature columns and target column.
+     *
+     * @param featureIndices Column indices of the features to score.
+     * @param targetIndex Column index of the target.
+     */
+    public CorrelationSums(int[] featureIndices, int targetIndex) {
+        this.featureIndices = featureIndices.clone();
+        this.targetIndex = targetIndex;
+        this.sumX = new double[featureIndices.length];
+        this.sumX2 = new double[featureIndices.length];
+        this.sumXY = new double[featureIndices.length];
+    }
+
+    /**
+     * Adds the rows[from..to) subset of a dataset to the sums in one pass.
+     *
+     * @param data The columnar dataset.
+     * @param rows Row indices; only rows[from..to) are used.
+     * @param from First position in rows (inclusive).
+     * @param to Last position in rows (exclusive).
+     */
+    public void add(Dataset data, int[] rows, int from, int to) {
+        double[] ys = data.getColumn(targetIndex);
+        double[] yBlock = new double[Math.min(BLOCK_SIZE, Math.max(0, to - from))];
+
+        // Walk the rows in blocks: read the target once per row into a small
+        //  buffer, then let each feature run through the block in a tight loop
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int end = Math.min(start + BLOCK_SIZE, to);
+            double sy = sumY;
+            double sy2 = sumY2;
+            for (int i = start; i < end; i++) {
+                double y = ys[rows[i]];
+                yBlock[i - start] = y;
+                sy += y;
+                sy2 += y * y;
+            }
+            sumY = sy;
+            sumY2 = sy2;
+
+            for (int f = 0; f < featureIndices.length; f++) {
+                double[] xs = data.getColumn(featureIndices[f]);
+                double sx = sumX[f];
+                double sx2 = sumX2[f];
+                double sxy = sumXY[f];
+                for (int i = start; i < end; i++) {
+                    double x = xs[rows[i]];
+                    sx += x;
+                    sx2 += x * x;
+                    sxy += x * yBlock[i - start];
+                }
+                sumX[f] = sx;
+                sumX2[f] = sx2;
+                sumXY[f] = sxy;
+            }
+        }
+        count += to - from;
+    }
+
+    /**
+     * Adds a single row, given as an array holding every column, to the sums.
+     *
+     * @param row The row's values, indexed by column.
+     */
+    public void add(double[] row) {
+        double y = row[targetIndex];
+        sumY += y;
+        sumY2 += y * y;
+        for (int f = 0; f < featureIndices.length; f++) {
+            double x = row[featureIndices[f]];
+            sumX[f] += x;
+            sumX2[f] += x * x;
+            sumXY[f] += x * y;
+        }
+        count++;
+    }
+
+    /**
+     * Adds another set of partial sums, over the same features and target,
+     * to this one.
+     *
+     * @param other Sums collected over a different chunk of rows.
+     */
+    public void merge(CorrelationSums other) {
+        if (other.featureIndices.length != featureIndices.length || other.targetIndex != targetIndex) {
+            throw new IllegalArgumentException("Cannot merge sums over different columns");
+        }
+        for (int f = 0; f < featureIndices.length; f++) {
+            sumX[f] += other.sumX[f];
+            sumX2[f] += other.sumX2[f];
+            sumXY[f] += other.sumXY[f];
+        }
+        sumY += other.sumY;
+        sumY2 += other.sumY2;
+        count += other.count;
+    }
+
+    // Returns the Pearson correlation of every feature with the target, in feature order
+    public double[] correlations() {
+        double[] result = new double[featureIndices.length];
+        for (int f = 0; f < result.length; f++) {
+            result[f] = DataUtils.correlationFromSums(count, sumX[f], sumY, sumXY[f], sumX2[f], sumY2);
+        }
+        return result;
+    }
+
+    // Returns the number of rows added so far
+    public long count() {
+        return count;
+    }
+
+    // Returns the mean of the target over the rows added so far
+    public double targetMean() {
+        return sumY / count;
+    }
+}
@@ -1,10 +1,18 @@
 package utility;
 
+import algorithms.DoubleSortStrategy;
+import algorithms.ExternalMergeSortStrategy;
 import algorithms.InsertionSortStrategy;
 import algorithms.SortStrategy;
 import algorithms.SortUtils;
+import datastructures.Dataset;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -21,9 +29,16 @@ import java.util.Random;
  * <li><tt>calculateCorrelation</tt>: Computes the Pearson correlation
  * coefficient between two features.</li>
  * <li><tt>calculateMean</tt>: Calculates the mean (average) of a numeric feature.</li>
- * <li><tt>calculateMedian</tt>: Determines the median value of a numeric feature.</li>
+ * <li><tt>calculateMedian</tt>: Determines the median value of a numeric feature,
+ * optionally sorting primitive values with a <tt>DoubleSortStrategy</tt>, or
+ * of a CSV column too large for memory with an <tt>ExternalMergeSortStrategy</tt>,
+ * or approximately, in fixed memory, with a <tt>QuantileSketch</tt>.</li>
+ * <li><tt>median</tt>, <tt>select</tt>: Linear-time selection on a primitive
+ * array, without sorting it.</li>
  * <li><tt>filterData</tt>: Filters rows of data based on a threshold applied
  * to a specific feature.</li>
+ * <li><tt>partition</tt>: Splits a range of row indices in place around a
+ * threshold, without copying any rows.</li>
  * </ul>
  *
  *
@@ -75,6 +90,32 @@ public class DataUtils {
         return numerator / denominator;
     }
 
+    /**
+     * Computes the Pearson correlation coefficient from the plain sums it is
+     *      made of, using the same formula as {@link #calculateCorrelation}.
+     *      Lets callers that gather the sums themselves (in one pass over many
+     *      features, in parallel chunks, or from histograms) get the same result.
+     *
+     * @param n Number of (x, y) pairs.
+     * @param sumX Sum of x.
+     * @param sumY Sum of y.
+     * @param sumXY Sum of x * y.
+     * @param sumX2 Sum of x * x.
+     * @param sumY2 Sum of y * y.
+     * @return The correlation coefficient, or NaN if either variable is constant.
+     */
+    public static double correlationFromSums(
+            double n,
+            double sumX,
+            double sumY,
+            double sumXY,
+            double sumX2,
+            double sumY2) {
+        double numerator = n * sumXY - sumX * sumY;
+        double denominator = Math.sqrt((n * sumX2 - sumX * sumX) * (n * sumY2 - sumY * sumY));
+        return numerator / denominator;
+    }
+
     /**
      * Calculates the mean (average) value of a specified feature in the dataset.
      *
@@ -174,6 +215,488 @@ public class DataUtils {
         return filteredData;
     }
 
+    /**
+     * Calculates the Pearson correlation coefficient between a given feature
+     *      and the target variable of a columnar dataset. Values are read
+     *      straight from the column arrays, so nothing is parsed.
+     *
+     * @param data The columnar dataset.
+     * @param featureIndex The index of the feature column.
+     * @param targetIndex The index of the target column.
+     * @return The correlation coefficient as a double.
+     */
+    public static double calculateCorrelation(
+            Dataset data,
+            int featureIndex,
+            int targetIndex) {
+        double[] xs = data.getColumn(featureIndex);
+        double[] ys = data.getColumn(targetIndex);
+        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0, sumY2 = 0;
+
+        int n = data.numRows(); // No header row to skip in a Dataset
+        for (int i = 0; i < n; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumX2 += x * x;
+            sumY2 += y * y;
+        }
+
+        return correlationFromSums(n, sumX, sumY, sumXY, sumX2, sumY2);
+    }
+
+    /**
+     * Calculates the mean (average) value of a column in a columnar dataset.
+     *
+     * @param data The columnar dataset.
+     * @param targetIndex The index of the column for which to calculate the mean.
+     * @return The mean value as a double, or NaN for an empty dataset.
+     */
+    public static double calculateMean(Dataset data, int targetIndex) {
+        double[] values = data.getColumn(targetIndex);
+        double sum = 0.0;
+        for (int i = 0; i < data.numRows(); i++) {
+            sum += values[i];
+        }
+        return sum / data.numRows();
+    }
+
+    /**
+     * Calculates the median value of a column in a columnar dataset. The
+     * column is copied into a primitive array and the middle value is found
+     * there by selection, so the values are never boxed or fully sorted.
+     *
+     * @param data The columnar dataset.
+     * @param featureIndex The index of the column for which to calculate the median.
+     * @return The median value as a double, or NaN for an empty dataset.
+     */
+    public static double calculateMedian(Dataset data, int featureIndex) {
+        int n = data.numRows();
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double[] values = Arrays.copyOf(data.getColumn(featureIndex), n);
+        return median(values, 0, n);
+    }
+
+    /**
+     * Calculates the median value of a column in a columnar dataset by
+     * sorting a primitive copy of it with the given strategy. For an even
+     * number of values it is the average of the middle two.
+     *
+     * @param data The columnar dataset.
+     * @param featureIndex The index of the column for which to calculate the median.
+     * @param strategy The sorting algorithm to use, for example <tt>RadixSortStrategy</tt>.
+     * @return The median value as a double, or NaN for an empty dataset.
+     */
+    public static double calculateMedian(Dataset data, int featureIndex, DoubleSortStrategy strategy) {
+        double[] values = Arrays.copyOf(data.getColumn(featureIndex), data.numRows());
+        strategy.sort(values);
+        return sortedMedian(values, 0, values.length);
+    }
+
+    /**
+     * Calculates the median value of a specified feature in the dataset. The
+     * values are parsed into a primitive array and sorted with the given
+     * strategy, so none of them is boxed.
+     *
+     * @param data The dataset represented as a List of List of Strings.
+     * @param featureIndex The index of the feature column for which to calculate the median.
+     * @param strategy The sorting algorithm to use, for example <tt>DualPivotQuickSortStrategy</tt>.
+     * @return The median value as a double, or NaN if there are no data rows.
+     */
+    public static double calculateMedian(
+            List<List<String>> data,
+            int featureIndex,
+            DoubleSortStrategy strategy) {
+        double[] values = new double[Math.max(0, data.size() - 1)];
+        for (int i = 1; i < data.size(); i++) { // Start from 1 to skip the header row
+            values[i - 1] = Double.parseDouble(data.get(i).get(featureIndex));
+        }
+        strategy.sort(values);
+        return sortedMedian(values, 0, values.length);
+    }
+
+    /**
+     * Calculates the median value of one column of a CSV file that may not
+     * fit in memory. The file is scanned once, and the column's values are
+     * sorted in runs spilled to disk and merged by the external sort.
+     *
+     * @param filePath Path to a CSV file with a header row.
+     * @param featureIndex The index of the column for which to calculate the median.
+     * @param strategy The external sort, which sets the run size and temp directory.
+     * @return The median value as a double, or NaN if there are no data rows.
+     * @throws IOException if the file or a run file cannot be read or written.
+     */
+    public static double calculateMedian(
+            String filePath,
+            int featureIndex,
+            ExternalMergeSortStrategy strategy) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedCSVParser.Header header = MappedCSVParser.readHeader(channel);
+            int numColumns = header.names.size();
+            if (featureIndex < 0 || featureIndex >= numColumns) {
+                throw new IllegalArgumentException("No column " + featureIndex + " in " + filePath);
+            }
+            return strategy.median(sink -> MappedCSVParser.scan(channel, header.dataStart,
+                    channel.size(), numColumns, values -> sink.accept(values[featureIndex])));
+        }
+    }
+
+    /**
+     * Estimates the median of one column of a CSV file in a single streaming
+     * pass, feeding every value to a quantile sketch. Memory stays fixed no
+     * matter how large the file is; the result is within the sketch's rank
+     * error of the exact median, and exact for short columns.
+     *
+     * @param filePath Path to the CSV file, with a header row.
+     * @param featureIndex Column index of the feature.
+     * @param sketch The sketch to feed; usually empty, and holding the column afterwards.
+     * @return The estimated median, or NaN for an empty column.
+     * @throws IOException If the file cannot be read.
+     */
+    public static double calculateMedian(
+            String filePath,
+            int featureIndex,
+            QuantileSketch sketch) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedCSVParser.Header header = MappedCSVParser.readHeader(channel);
+            int numColumns = header.names.size();
+            if (featureIndex < 0 || featureIndex >= numColumns) {
+                throw new IllegalArgumentException("No column " + featureIndex + " in " + filePath);
+            }
+            MappedCSVParser.scan(channel, header.dataStart, channel.size(), numColumns,
+                    values -> sketch.add(values[featureIndex]));
+            return sketch.median();
+        }
+    }
+
+    // Returns the median of a sorted range: the middle value, or the average
+    //  of the middle two for an even count; NaN for an empty range
+    private static double sortedMedian(double[] sorted, int from, int to) {
+        int n = to - from;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        int mid = from + n / 2;
+        return (n % 2 == 1) ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+
+    /**
+     * Filters a columnar dataset based on a threshold value applied to a
+     * specific feature. The result has the same header as the input.
+     *
+     * @param data The columnar dataset.
+     * @param featureIndex The index of the feature column used for filtering.
+     * @param threshold The threshold value for filtering.
+     * @param isLeft Keep values less than or equal to (true) or greater than (false) the threshold.
+     * @return A filtered dataset.
+     */
+    public static Dataset filterData(
+            Dataset data,
+            int featureIndex,
+            double threshold,
+            boolean isLeft) {
+        double[] feature = data.getColumn(featureIndex);
+        int n = data.numRows();
+
+        // First pass finds the matching rows, second copies them column by column
+        int[] keep = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if ((feature[i] <= threshold) == isLeft) {
+                keep[count++] = i;
+            }
+        }
+
+        double[][] columns = new double[data.numColumns()][count];
+        for (int j = 0; j < columns.length; j++) {
+            double[] source = data.getColumn(j);
+            for (int i = 0; i < count; i++) {
+                columns[j][i] = source[keep[i]];
+            }
+        }
+        return new Dataset(data.getHeader(), columns, count);
+    }
+
+    /**
+     * Calculates the Pearson correlation coefficient between a feature and the
+     *      target over a subset of rows. The subset is the range [from, to) of
+     *      an array of row indices, as produced by {@link #partition}.
+     *
+     * @param data The columnar dataset.
+     * @param rows Row indices; only rows[from..to) are used.
+     * @param from First position in rows (inclusive).
+     * @param to Last position in rows (exclusive).
+     * @param featureIndex The index of the feature column.
+     * @param targetIndex The index of the target column.
+     * @return The correlation coefficient as a double.
+     */
+    public static double calculateCorrelation(
+            Dataset data,
+            int[] rows,
+            int from,
+            int to,
+            int featureIndex,
+            int targetIndex) {
+        double[] xs = data.getColumn(featureIndex);
+        double[] ys = data.getColumn(targetIndex);
+        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0, sumY2 = 0;
+
+        int n = to - from;
+        for (int i = from; i < to; i++) {
+            double x = xs[rows[i]];
+            double y = ys[rows[i]];
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumX2 += x * x;
+            sumY2 += y * y;
+        }
+
+        return correlationFromSums(n, sumX, sumY, sumXY, sumX2, sumY2);
+    }
+
+    /**
+     * Calculates the median of a feature over the rows[from..to) subset. The
+     * values are gathered into scratch[from..to), which the caller provides so
+     * one buffer (as long as rows) can be reused for every node of a tree.
+     *
+     * @param data The columnar dataset.
+     * @param rows Row indices; only rows[from..to) are used.
+     * @param from First position in rows (inclusive).
+     * @param to Last position in rows (exclusive).
+     * @param featureIndex The index of the feature column.
+     * @param scratch Work buffer at least as long as to; its [from, to) range is overwritten.
+     * @return The median value as a double, or NaN for an empty range.
+     */
+    public static double calculateMedian(
+            Dataset data,
+            int[] rows,
+            int from,
+            int to,
+            int featureIndex,
+            double[] scratch) {
+        if (from >= to) {
+            return Double.NaN;
+        }
+        double[] values = data.getColumn(featureIndex);
+        for (int i = from; i < to; i++) {
+            scratch[i] = values[rows[i]];
+        }
+        return median(scratch, from, to);
+    }
+
+    /**
+     * Returns the median of values[from..to) in linear expected time, using
+     * selection instead of a full sort. For an even count it is the average
+     * of the two middle values. The result is identical to sorting the range
+     * with <tt>Arrays.sort</tt> and reading the middle; the range is
+     * reordered, so pass a scratch copy if the order matters.
+     *
+     * @param values The values; only [from, to) is read and reordered.
+     * @param from First index (inclusive).
+     * @param to Last index (exclusive).
+     * @return The median, or NaN for an empty range.
+     */
+    public static double median(double[] values, int from, int to) {
+        int n = to - from;
+        if (n <= 0) {
+            return Double.NaN;
+        }
+        int mid = from + n / 2;
+        if (n % 2 == 1) {
+            return select(values, from, to, mid);
+        }
+        // After selecting the lower middle, the upper middle is the smallest value to its right
+        double lower = select(values, from, to, mid - 1);
+        double upper = values[mid];
+        for (int i = mid + 1; i < to; i++) {
+            if (Double.compare(values[i], upper) < 0) {
+                upper = values[i];
+            }
+        }
+        return (lower + upper) / 2.0;
+    }
+
+    /**
+     * Returns the value that would be at index k if values[from..to) were
+     * sorted, in the order of <tt>Double.compare</tt>. This is introselect:
+     * quickselect with a median-of-three pivot and a three-way partition
+     * (so runs of equal values cost nothing), falling back to a sort of the
+     * remaining range if the partitions keep coming out unbalanced. On
+     * return, values[from..k) are no greater and values(k..to) no smaller
+     * than values[k].
+     *
+     * @param values The values; only [from, to) is read and reordered.
+     * @param from First index (inclusive).
+     * @param to Last index (exclusive).
+     * @param k The index to select, from &lt;= k &lt; to.
+     * @return The k-th smallest value of the range.
+     */
+    public static double select(double[] values, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(to - from)); // ~2 log2(n) rounds
+
+        while (hi > lo) {
+            if (budget-- == 0) {
+                Arrays.sort(values, lo, hi + 1);
+                break;
+            }
+            double pivot = medianOfThree(values[lo], values[lo + (hi - lo) / 2], values[hi]);
+
+            // Three-way partition: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                int c = Double.compare(values[i], pivot);
+                if (c < 0) {
+                    swap(values, lt++, i++);
+                } else if (c > 0) {
+                    swap(values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                break; // k landed among the values equal to the pivot
+            }
+        }
+        return values[k];
+    }
+
+    // Returns the middle one of three values, in the order of Double.compare
+    private static double medianOfThree(double a, double b, double c) {
+        if (Double.compare(a, b) > 0) {
+            double t = a;
+            a = b;
+            b = t;
+        }
+        if (Double.compare(b, c) > 0) {
+            b = c;
+        }
+        return (Double.compare(a, b) > 0) ? a : b;
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+
+    /**
+     * Splits the rows[from..to) subset in place, quicksort style, instead of
+     * copying rows into new lists the way {@link #filterData} does. Afterwards
+     * rows[from..mid) hold the rows whose feature value is less than or equal
+     * to the threshold (the left subset) and rows[mid..to) hold the rest.
+     * The order of the rows within each side is not preserved.
+     *
+     * @param data The columnar dataset.
+     * @param rows Row indices; only rows[from..to) are moved.
+     * @param from First position in rows (inclusive).
+     * @param to Last position in rows (exclusive).
+     * @param featureIndex The index of the feature column used for splitting.
+     * @param threshold The threshold value for splitting.
+     * @return mid, the first position of the right subset.
+     */
+    public static int partition(
+            Dataset data,
+            int[] rows,
+            int from,
+            int to,
+            int featureIndex,
+            double threshold) {
+        double[] values = data.getColumn(featureIndex);
+        int i = from;
+        int j = to - 1;
+        while (true) {
+            while (i <= j && values[rows[i]] <= threshold) {
+                i++;
+            }
+            while (i <= j && !(values[rows[j]] <= threshold)) {
+                j--;
+            }
+            if (i >= j) {
+                return i;
+            }
+            int swap = rows[i];
+            rows[i] = rows[j];
+            rows[j] = swap;
+        }
+    }
+
+    /**
+     * Sorts an array of row indices by the value each row has in a feature
+     * column, in the order <tt>Arrays.sort</tt> would sort the values (NaN
+     * last, -0.0 before 0.0). This is a stable LSD radix sort on the bit
+     * pattern of the values, so it runs in linear time and rows with equal
+     * values keep their relative order.
+     *
+     * @param data The columnar dataset.
+     * @param rows Row indices to sort in place.
+     * @param featureIndex The index of the feature column to sort by.
+     */
+    public static void sortRows(Dataset data, int[] rows, int featureIndex) {
+        int n = rows.length;
+        if (n == 0) {
+            return;
+        }
+        double[] values = data.getColumn(featureIndex);
+        final int bits = 11;
+        final int radix = 1 << bits;
+        final int passes = (64 + bits - 1) / bits;
+
+        // Map each value to a key whose unsigned order is the order of Double.compare,
+        //  and count the digits of every pass in one read
+        long[] keys = new long[n];
+        int[][] counts = new int[passes][radix + 1];
+        for (int i = 0; i < n; i++) {
+            long key = Double.doubleToLongBits(values[rows[i]]);
+            key ^= (key >> 63) | Long.MIN_VALUE;
+            keys[i] = key;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(int) ((key >>> (p * bits)) & (radix - 1)) + 1]++;
+            }
+        }
+
+        long[] keyAux = new long[n];
+        int[] sorted = rows;
+        int[] rowAux = new int[n];
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            int shift = p * bits;
+            if (count[(int) ((keys[0] >>> shift) & (radix - 1)) + 1] == n) {
+                continue; // Every key has the same digit - this pass would not move anything
+            }
+            for (int d = 0; d < radix; d++) {
+                count[d + 1] += count[d];
+            }
+            for (int i = 0; i < n; i++) {
+                int position = count[(int) ((keys[i] >>> shift) & (radix - 1))]++;
+                keyAux[position] = keys[i];
+                rowAux[position] = sorted[i];
+            }
+            long[] swapKeys = keys;
+            keys = keyAux;
+            keyAux = swapKeys;
+            int[] swapRows = sorted;
+            sorted = rowAux;
+            rowAux = swapRows;
+        }
+        if (sorted != rows) {
+            System.arraycopy(sorted, 0, rows, 0, n);
+        }
+    }
+
     /**
      * Main method for testing the utility functions provided in the DataUtils class.
      * Demonstrates usage of correlation, mean, median calculations, and data filtering.
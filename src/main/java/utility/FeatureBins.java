@@ -0,0 +1,175 @@
+package utility;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <strong>FeatureBins</strong> - A feature column quantized into at most 256
+ * bins, one byte per row. Bins cover consecutive value ranges, so ordering
+ * rows by bin orders them by value. A column with few distinct values gets
+ * one bin per value; otherwise bins hold about equally many rows. Edges of
+ * columns longer than about 262,000 rows are estimated from an evenly spaced
+ * sample of their values.<br><br>
+ * <p>
+ * The upper edge of each bin is the largest value in it, a value that really
+ * occurs in the data, so "bin &lt;= b" and "value &lt;= upperEdge(b)" pick the
+ * same rows and a split found on bins can be used as a normal threshold.
+ * Each bin also keeps the mean of its values as its representative value.
+ * Missing values (NaN) get a bin of their own, after all value bins.
+ * {@link #of} keeps the bins of each column, so a column is quantized once
+ * however many trees are trained on it.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      FeatureBins bins = FeatureBins.of(data.getColumn(0), data.numRows());
+ *      int bin = bins.bin(row);
+ *      double threshold = bins.upperEdge(bin);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class FeatureBins {
+    public static final int MAX_BINS = 256; // Bins per feature, the missing-value bin included
+    private static final int SAMPLE_SIZE = 1 << 18; // Values sorted to find the edges of a large column
+
+    // Bins already built, by column array. Dataset columns are never modified
+    //  and are shared by derived datasets, so every tree trained on a column
+    //  can reuse its bins. Weak keys let the bins go with the column.
+    private static final Map<double[], FeatureBins> CACHE = new WeakHashMap<>();
+
+    private final double[] upperEdges;
+    private final double[] searchEdges;
+    private final double[] representatives;
+    private final byte[] bins;
+
+    /**
+     * Quantizes the first numRows values of a column.
+     *
+     * @param column The feature column.
+     * @param numRows Number of rows to quantize.
+     */
+    public FeatureBins(double[] column, int numRows) {
+        // Edges come from an evenly spaced sample of the values, so binning a
+        //  huge column costs one sort of the sample plus one pass over the rows
+        int step = Math.max(1, numRows / SAMPLE_SIZE);
+        double[] sorted = new double[(numRows + step - 1) / step];
+        int m = 0;
+        for (int i = 0; i < numRows; i += step) {
+            if (!Double.isNaN(column[i])) {
+                sorted[m++] = column[i] + 0.0; // Adding 0.0 turns -0.0 into 0.0, which compares equal to it
+            }
+        }
+        int present = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < numRows; i++) {
+            if (!Double.isNaN(column[i])) {
+                max = Math.max(max, column[i] + 0.0);
+                present++;
+            }
+        }
+        Arrays.sort(sorted, 0, m);
+
+        // Cut after every (m / valueBins)-th value, skipping cuts that would
+        //  repeat an edge, so a value never spans two bins
+        int valueBins = MAX_BINS - 1;
+        double[] edges = new double[valueBins];
+        int numEdges = 0;
+        for (int b = 1; b <= valueBins; b++) {
+            int last = (int) ((long) b * m / valueBins) - 1;
+            if (last >= 0 && (numEdges == 0 || sorted[last] > edges[numEdges - 1])) {
+                edges[numEdges++] = sorted[last];
+            }
+        }
+        if (numEdges > 0) {
+            edges[numEdges - 1] = max; // The sample may have missed the largest value
+        } else if (present > 0) {
+            edges[numEdges++] = max;
+        }
+        this.upperEdges = Arrays.copyOf(edges, numEdges);
+
+        // Pad the edges to MAX_BINS with infinity for the fixed-step search in binOf
+        this.searchEdges = new double[MAX_BINS];
+        Arrays.fill(searchEdges, Double.POSITIVE_INFINITY);
+        System.arraycopy(upperEdges, 0, searchEdges, 0, numEdges);
+
+        this.bins = new byte[numRows];
+        double[] edgesToSearch = searchEdges;
+        int missing = numEdges;
+        double[] sums = new double[MAX_BINS];
+        long[] counts = new long[MAX_BINS];
+        for (int i = 0; i < numRows; i++) {
+            double value = column[i];
+            int bin = Double.isNaN(value) ? missing : binOf(edgesToSearch, value);
+            bins[i] = (byte) bin;
+            sums[bin] += value;
+            counts[bin]++;
+        }
+        this.representatives = new double[numEdges];
+        for (int b = 0; b < numEdges; b++) {
+            representatives[b] = sums[b] / counts[b];
+        }
+    }
+
+    /**
+     * Returns the bins of a column, quantizing it only the first time it is
+     * asked for. The column must not change afterwards.
+     *
+     * @param column The feature column.
+     * @param numRows Number of rows to quantize.
+     * @return The bins of the column.
+     */
+    public static FeatureBins of(double[] column, int numRows) {
+        synchronized (CACHE) {
+            FeatureBins bins = CACHE.get(column);
+            if (bins == null || bins.bins.length != numRows) {
+                bins = new FeatureBins(column, numRows);
+                CACHE.put(column, bins);
+            }
+            return bins;
+        }
+    }
+
+    // Returns the first bin whose upper edge is at least the (non-NaN) value.
+    //  Always takes 8 steps, which the JIT can compile without branches that
+    //  depend on the value.
+    private static int binOf(double[] searchEdges, double value) {
+        int bin = 0;
+        for (int half = MAX_BINS / 2; half > 0; half >>= 1) {
+            bin += (searchEdges[bin + half - 1] < value) ? half : 0;
+        }
+        return bin;
+    }
+
+    // Returns the bin of a row
+    public int bin(int row) {
+        return bins[row] & 0xFF;
+    }
+
+    // Returns the bin of every row, as unsigned bytes; do not modify it
+    public byte[] getBins() {
+        return bins;
+    }
+
+    // Returns the number of bins, the missing-value bin included
+    public int numBins() {
+        return upperEdges.length + 1;
+    }
+
+    // Returns the bin that holds missing (NaN) values; it comes after every value bin
+    public int missingBin() {
+        return upperEdges.length;
+    }
+
+    // Returns the largest value in a value bin
+    public double upperEdge(int bin) {
+        return upperEdges[bin];
+    }
+
+    // Returns the mean of the values in a value bin
+    public double representative(int bin) {
+        return representatives[bin];
+    }
+}
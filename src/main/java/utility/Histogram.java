@@ -0,0 +1,178 @@
+package utility;
+
+import datastructures.Dataset;
+
+/**
+ * <strong>Histogram</strong> - Per-bin split statistics of a set of rows: for
+ * each binned feature, how many rows fall in each bin and the sum of their
+ * target values, plus the row count and target sums of the whole set.<br><br>
+ * <p>
+ * Building it reads one byte per row and feature plus the target, instead of
+ * the feature values themselves. Correlations are then computed from the
+ * bins alone, taking each row's feature value to be its bin's representative
+ * value, and the median bin gives a split threshold. Because every statistic
+ * is a plain sum, the histogram of one child of a split is the parent's
+ * histogram minus the other child's, see {@link #minus}.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      Histogram parent = new Histogram(bins, columns, targetIndex);
+ *      parent.add(data, rows, from, to);
+ *      Histogram left = new Histogram(bins, columns, targetIndex);
+ *      left.add(data, rows, from, mid);
+ *      Histogram right = parent.minus(left, columns);
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class Histogram {
+    private static final int BLOCK_SIZE = 512; // Rows per block; the target buffer stays in L1
+    private final FeatureBins[] bins;
+    private final int[] columns;
+    private final int targetIndex;
+    private final int[][] counts;   // By column, then bin; null for columns not covered
+    private final double[][] sums;  // Target sums, by column, then bin
+    private long count;
+    private double sumY;
+    private double sumY2;
+
+    /**
+     * Creates an empty histogram over the given feature columns.
+     *
+     * @param bins The bins of each column, indexed by column.
+     * @param columns The feature columns to collect statistics for.
+     * @param targetIndex Column index of the target.
+     */
+    public Histogram(FeatureBins[] bins, int[] columns, int targetIndex) {
+        this.bins = bins;
+        this.columns = columns.clone();
+        this.targetIndex = targetIndex;
+        this.counts = new int[bins.length][];
+        this.sums = new double[bins.length][];
+        for (int column : columns) {
+            counts[column] = new int[bins[column].numBins()];
+            sums[column] = new double[bins[column].numBins()];
+        }
+    }
+
+    /**
+     * Adds the rows[from..to) subset of a dataset to the histogram.
+     *
+     * @param data The columnar dataset the bins were built from.
+     * @param rows Row indices; only rows[from..to) are used.
+     * @param from First position in rows (inclusive).
+     * @param to Last position in rows (exclusive).
+     */
+    public void add(Dataset data, int[] rows, int from, int to) {
+        double[] ys = data.getColumn(targetIndex);
+        double[] yBlock = new double[Math.min(BLOCK_SIZE, Math.max(0, to - from))];
+
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int end = Math.min(start + BLOCK_SIZE, to);
+            for (int i = start; i < end; i++) {
+                double y = ys[rows[i]];
+                yBlock[i - start] = y;
+                sumY += y;
+                sumY2 += y * y;
+            }
+
+            for (int column : columns) {
+                byte[] rowBins = bins[column].getBins();
+                int[] binCounts = counts[column];
+                double[] binSums = sums[column];
+                for (int i = start; i < end; i++) {
+                    int bin = rowBins[rows[i]] & 0xFF;
+                    binCounts[bin]++;
+                    binSums[bin] += yBlock[i - start];
+                }
+            }
+        }
+        count += to - from;
+    }
+
+    /**
+     * Returns the histogram of the rows in this one but not in a subset of
+     * them, for example the sibling of a child whose histogram was built.
+     *
+     * @param subset Histogram of some of this histogram's rows.
+     * @param columns The columns the result should cover; both histograms must cover them.
+     * @return A new histogram of the remaining rows.
+     */
+    public Histogram minus(Histogram subset, int[] columns) {
+        Histogram result = new Histogram(bins, columns, targetIndex);
+        for (int column : columns) {
+            if (counts[column] == null || subset.counts[column] == null) {
+                throw new IllegalArgumentException("Column " + column + " is not in both histograms");
+            }
+            for (int b = 0; b < counts[column].length; b++) {
+                result.counts[column][b] = counts[column][b] - subset.counts[column][b];
+                result.sums[column][b] = sums[column][b] - subset.sums[column][b];
+            }
+        }
+        result.count = count - subset.count;
+        result.sumY = sumY - subset.sumY;
+        result.sumY2 = sumY2 - subset.sumY2;
+        return result;
+    }
+
+    /**
+     * Computes the correlation of a feature with the target from the bins,
+     * using each bin's representative value as the feature value of its rows.
+     *
+     * @param column A feature column this histogram covers.
+     * @return The correlation, or NaN if the feature is constant or has missing values.
+     */
+    public double correlation(int column) {
+        FeatureBins featureBins = bins[column];
+        int[] binCounts = counts[column];
+        double[] binSums = sums[column];
+        if (binCounts[featureBins.missingBin()] > 0) {
+            return Double.NaN; // Like an exact sum, which turns NaN once one value is missing
+        }
+        double sumX = 0, sumXY = 0, sumX2 = 0;
+        for (int b = 0; b < featureBins.missingBin(); b++) {
+            if (binCounts[b] > 0) {
+                double x = featureBins.representative(b);
+                sumX += binCounts[b] * x;
+                sumX2 += binCounts[b] * x * x;
+                sumXY += x * binSums[b];
+            }
+        }
+        return DataUtils.correlationFromSums(count, sumX, sumY, sumXY, sumX2, sumY2);
+    }
+
+    /**
+     * Finds the bin holding the median of a feature. Rows in that bin and
+     * below go left of the split, so the threshold is the bin's upper edge.
+     * If that would send every row left, the bin below is used instead.
+     *
+     * @param column A feature column this histogram covers.
+     * @return The split bin, or -1 if no bin separates the rows.
+     */
+    public int splitBin(int column) {
+        int[] binCounts = counts[column];
+        int missing = bins[column].missingBin();
+        long present = count - binCounts[missing];
+
+        long below = 0;
+        int previous = -1;
+        for (int b = 0; b < missing; b++) {
+            if (binCounts[b] == 0) {
+                continue;
+            }
+            below += binCounts[b];
+            if (2 * below >= present) {
+                return (below == count) ? previous : b;
+            }
+            previous = b;
+        }
+        return -1;
+    }
+
+    // Returns the number of rows added
+    public long count() {
+        return count;
+    }
+}
@@ -0,0 +1,376 @@
+package utility;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+//345678901234567890123456789012345678901234567890123456789012345678901234567890
+
+/**
+ * <strong>MappedCSVParser</strong> - Parses numeric CSV data straight from a
+ * memory-mapped file. Bytes are scanned in place for commas and line breaks,
+ * and each field is converted to a double without creating a String for
+ * it.<br><br>
+ * <p>
+ * Whitespace is handled the same way <tt>CSVReader.readCSV</tt> handles it:
+ * tabs, vertical tabs, form feeds, carriage returns and non-breaking spaces
+ * are dropped anywhere in a field, and the field is then trimmed. Lines may
+ * end in <tt>\n</tt>, <tt>\r</tt> or <tt>\r\n</tt>. A field that is not a
+ * number, or that is missing from a short row, becomes NaN, exactly as in
+ * <tt>Dataset.fromRecords</tt>. Plain decimal numbers are converted on a fast
+ * path that is exact; anything unusual (very long mantissas, large exponents,
+ * <tt>NaN</tt>, hex literals) falls back to <tt>Double.parseDouble</tt>, so
+ * results always match the String-based reader.<br><br>
+ * </p>
+ * Large files are mapped in windows of at most 1 GiB; a window always ends on
+ * a line boundary.<br><br>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class MappedCSVParser {
+    /**
+     * Receives parsed rows. The array is reused for every row, so a handler
+     * must copy the values it wants to keep.
+     */
+    public interface RowHandler {
+        void row(double[] values);
+    }
+
+    /**
+     * The header row of a file and the byte offset where the data rows start.
+     */
+    public static class Header {
+        public final List<String> names;
+        public final long dataStart;
+
+        Header(List<String> names, long dataStart) {
+            this.names = names;
+            this.dataStart = dataStart;
+        }
+    }
+
+    static final long WINDOW_SIZE = 1L << 30;
+    private static final int SEARCH_WINDOW_SIZE = 1 << 16;
+
+    // Every power of ten that is exactly representable as a double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_MANTISSA_DIGITS = 18;  // Always fits in a long
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Reads the header row of a file the same way <tt>CSVReader.readCSV</tt>
+     * reads its first line.
+     *
+     * @param channel An open channel to the file.
+     * @return The column names and the offset of the first data row.
+     * @throws IOException If the file cannot be read or the header is too long.
+     */
+    public static Header readHeader(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        int size = (int) Math.min(fileSize, WINDOW_SIZE);
+        ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        int eol = 0;
+        while (eol < size && buf.get(eol) != '\n' && buf.get(eol) != '\r') {
+            eol++;
+        }
+        if (eol == size && size < fileSize) {
+            throw new IOException("Header row longer than " + WINDOW_SIZE + " bytes");
+        }
+        if (size == 0) {
+            return new Header(new ArrayList<>(), 0);
+        }
+
+        byte[] bytes = new byte[eol];
+        buf.get(0, bytes);
+        String line = CSVReader.clean(new String(bytes, StandardCharsets.UTF_8));
+        List<String> names = new ArrayList<>();
+        for (String value : line.split(",")) {
+            names.add(value.trim());
+        }
+        return new Header(names, lineEnd(buf, eol, size));
+    }
+
+    /**
+     * Parses every line in the byte range [start, end) of a file and passes
+     * each one to the handler as an array of numColumns values. The range must
+     * start at the beginning of a line; it ends either at the end of the file
+     * or just after a line break.
+     *
+     * @param channel An open channel to the file.
+     * @param start Offset of the first byte to parse.
+     * @param end Offset just past the last byte to parse.
+     * @param numColumns Number of values per row (extra fields are ignored).
+     * @param handler Receives each parsed row, in file order.
+     * @throws IOException If the file cannot be read or a line is too long.
+     */
+    public static void scan(
+            FileChannel channel,
+            long start,
+            long end,
+            int numColumns,
+            RowHandler handler) throws IOException {
+        double[] row = new double[numColumns];
+        long position = start;
+
+        while (position < end) {
+            long size = Math.min(WINDOW_SIZE, end - position);
+            boolean lastWindow = position + size == end;
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+            int consumed = scanWindow(buf, (int) size, lastWindow, row, handler);
+            if (consumed == 0) {
+                throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + position);
+            }
+            position += consumed;
+        }
+    }
+
+    /**
+     * Returns the offset of the first line that starts at or after the given
+     * offset, or the end of the file if there is none. Used to split a file
+     * into byte ranges that each hold whole lines.
+     *
+     * @param channel An open channel to the file.
+     * @param offset Any offset after the start of the file.
+     * @return The start of the first line at or after offset.
+     * @throws IOException If the file cannot be read.
+     */
+    public static long nextLineStart(FileChannel channel, long offset) throws IOException {
+        long fileSize = channel.size();
+        // Start one byte early: a break ending just before offset makes offset a line start
+        long position = Math.max(0, offset - 1);
+
+        while (position < fileSize) {
+            int size = (int) Math.min(SEARCH_WINDOW_SIZE, fileSize - position);
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            for (int i = 0; i < size; i++) {
+                byte b = buf.get(i);
+                if (b == '\n') {
+                    return position + i + 1;
+                }
+                if (b == '\r') {
+                    boolean crlf = (position + i + 1 < fileSize)
+                            && channel.map(FileChannel.MapMode.READ_ONLY, position + i + 1, 1).get(0) == '\n';
+                    return position + i + (crlf ? 2 : 1);
+                }
+            }
+            position += size;
+        }
+        return fileSize;
+    }
+
+    // Parses the complete lines of one mapped window and returns how many
+    //  bytes they took. An unfinished line at the end of a window that is
+    //  not the last one is left for the next window.
+    private static int scanWindow(
+            ByteBuffer buf,
+            int limit,
+            boolean lastWindow,
+            double[] row,
+            RowHandler handler) {
+        int lineStart = 0;
+        int fieldStart = 0;
+        int column = 0;
+
+        for (int i = 0; i < limit; i++) {
+            byte b = buf.get(i);
+            if (b == ',') {
+                if (column < row.length) {
+                    row[column] = parseField(buf, fieldStart, i);
+                }
+                column++;
+                fieldStart = i + 1;
+            } else if (b == '\n' || b == '\r') {
+                if (b == '\r' && i + 1 == limit && !lastWindow) {
+                    return lineStart; // A "\r\n" may be split across windows
+                }
+                finishRow(buf, fieldStart, i, column, row);
+                handler.row(row);
+
+                lineStart = lineEnd(buf, i, limit);
+                i = lineStart - 1;
+                fieldStart = lineStart;
+                column = 0;
+            }
+        }
+
+        if (lineStart < limit && lastWindow) {
+            // The file does not end with a line break
+            finishRow(buf, fieldStart, limit, column, row);
+            handler.row(row);
+            return limit;
+        }
+        return lineStart;
+    }
+
+    // Parses the last field of a row and fills any missing columns with NaN
+    private static void finishRow(ByteBuffer buf, int fieldStart, int fieldEnd, int column, double[] row) {
+        if (column < row.length) {
+            row[column] = parseField(buf, fieldStart, fieldEnd);
+        }
+        for (int j = column + 1; j < row.length; j++) {
+            row[j] = Double.NaN;
+        }
+    }
+
+    // Returns the offset just past the line break that starts at eol
+    static int lineEnd(ByteBuffer buf, int eol, int limit) {
+        if (eol == limit) {
+            return limit;
+        }
+        if (buf.get(eol) == '\r' && eol + 1 < limit && buf.get(eol + 1) == '\n') {
+            return eol + 2;
+        }
+        return eol + 1;
+    }
+
+    /**
+     * Converts the bytes [from, to) of a field to a double.
+     *
+     * @param buf The buffer holding the field.
+     * @param from Offset of the first byte of the field.
+     * @param to Offset just past the last byte of the field.
+     * @return The value, or NaN if the field is not a number.
+     */
+    static double parseField(ByteBuffer buf, int from, int to) {
+        // Trim spaces, control characters and non-breaking spaces from both ends
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            byte b = buf.get(lo);
+            if (b >= 0 && b <= ' ') {
+                lo++;
+            } else if (isNonBreakingSpace(buf, lo, hi)) {
+                lo += 2;
+            } else {
+                break;
+            }
+        }
+        while (hi > lo) {
+            byte b = buf.get(hi - 1);
+            if (b >= 0 && b <= ' ') {
+                hi--;
+            } else if (hi - 2 >= lo && isNonBreakingSpace(buf, hi - 2, hi)) {
+                hi -= 2;
+            } else {
+                break;
+            }
+        }
+
+        int i = skipRemoved(buf, lo, hi);
+        boolean negative = false;
+        if (i < hi && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i = skipRemoved(buf, i + 1, hi);
+        }
+
+        // Mantissa: digits with an optional decimal point
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean sawDigit = false;
+        boolean sawPoint = false;
+        while (i < hi) {
+            byte b = buf.get(i);
+            if (b >= '0' && b <= '9') {
+                sawDigit = true;
+                if (mantissa != 0 || b != '0') {
+                    if (digits == MAX_MANTISSA_DIGITS) {
+                        return parseSlow(buf, from, to);
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                }
+                if (sawPoint) {
+                    scale--;
+                }
+            } else if (b == '.' && !sawPoint) {
+                sawPoint = true;
+            } else {
+                break;
+            }
+            i = skipRemoved(buf, i + 1, hi);
+        }
+        if (!sawDigit) {
+            return parseSlow(buf, from, to);
+        }
+
+        // Optional exponent
+        if (i < hi && (buf.get(i) == 'e' || buf.get(i) == 'E')) {
+            i = skipRemoved(buf, i + 1, hi);
+            boolean negativeExponent = false;
+            if (i < hi && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                negativeExponent = buf.get(i) == '-';
+                i = skipRemoved(buf, i + 1, hi);
+            }
+            int exponent = 0;
+            boolean sawExponentDigit = false;
+            while (i < hi && buf.get(i) >= '0' && buf.get(i) <= '9') {
+                exponent = exponent * 10 + (buf.get(i) - '0');
+                if (exponent > 9999) {
+                    return parseSlow(buf, from, to);
+                }
+                sawExponentDigit = true;
+                i = skipRemoved(buf, i + 1, hi);
+            }
+            if (!sawExponentDigit) {
+                return parseSlow(buf, from, to);
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+        if (i != hi) {
+            return parseSlow(buf, from, to); // Something the fast path does not know
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa >= MAX_EXACT_MANTISSA || scale < -22 || scale > 22) {
+            return parseSlow(buf, from, to);
+        }
+        // Both operands are exact, so a single IEEE operation rounds correctly
+        double value = (scale < 0) ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    // Skips bytes that CSVReader.clean removes from the inside of a field
+    private static int skipRemoved(ByteBuffer buf, int i, int hi) {
+        while (i < hi) {
+            byte b = buf.get(i);
+            if (b >= '\t' && b <= '\r') {
+                i++;
+            } else if (isNonBreakingSpace(buf, i, hi)) {
+                i += 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    // U+00A0 is encoded as the two bytes C2 A0 in UTF-8
+    private static boolean isNonBreakingSpace(ByteBuffer buf, int i, int hi) {
+        return i + 1 < hi && buf.get(i) == (byte) 0xC2 && buf.get(i + 1) == (byte) 0xA0;
+    }
+
+    // Decodes the field and parses it exactly as the String-based reader would
+    private static double parseSlow(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        String value = CSVReader.clean(new String(bytes, StandardCharsets.UTF_8)).trim();
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package utility;
+
+import datastructures.Dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * <strong>QuantileSketch</strong> - Estimates the median, or any other
+ * quantile, of a stream of values in a small fixed amount of memory. This
+ * is a KLL sketch (Karnin, Lang and Liberty): values go into a stack of
+ * buffers, and a full buffer is sorted and every other value, starting at
+ * a random one of the first two, moves up a level, where it stands for
+ * twice as many values.<br><br>
+ * <p>
+ * With size parameter k the sketch keeps about 3k values however long the
+ * stream is. A quantile comes back as a value whose rank is within about
+ * 1.7 / k of the requested one, as a fraction of the count; at the default
+ * k of {@value #DEFAULT_K} that is under one percent. Until the first
+ * buffer fills, nothing has been discarded and {@link #median()} is exact,
+ * equal to <tt>DataUtils.median</tt> of the values added. NaN values are
+ * skipped.<br><br>
+ * </p>
+ * <p>
+ * Sketches are mergeable: a column or a file can be split into chunks,
+ * each chunk sketched on its own thread, and the sketches combined with
+ * {@link #merge}, with the same error bound as one sketch of everything.
+ * The coin flips come from a seeded generator, so the same values added
+ * and merged in the same order always give the same answer. A sketch is
+ * not thread-safe on its own.<br><br>
+ * </p>
+ * <strong>Example:</strong><br>
+ * <pre>
+ *      QuantileSketch sketch = new QuantileSketch();
+ *      sketch.add(data, rows, 0, rows.length, featureIndex);
+ *      double threshold = sketch.median();
+ * </pre>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class QuantileSketch {
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0; // Each level down holds 2/3 as many values
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels = {new double[MIN_LEVEL_CAPACITY]}; // Values at level h stand for 2^h values
+    private int[] sizes = {0};
+    private int retained;     // Values held across every level
+    private int maxRetained;  // Total capacity of the levels; compacting starts when it is reached
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // Creates an empty sketch with the default size and seed
+    public QuantileSketch() {
+        this(DEFAULT_K, 0);
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param k The size parameter; the rank error is about 1.7 / k.
+     * @param seed Seeds the choice of which values survive a compaction.
+     */
+    public QuantileSketch(int k, long seed) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("Sketch size must be at least " + MIN_LEVEL_CAPACITY);
+        }
+        this.k = k;
+        this.random = new SplittableRandom(seed);
+        this.maxRetained = capacity(0);
+    }
+
+    // Adds one value; NaN is skipped
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        append(0, value);
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    // Adds values[from..to)
+    public void add(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Adds one feature of the rows[from..to) subset of a dataset.
+     *
+     * @param data The columnar dataset.
+     * @param rows Row indices; only rows[from..to) are used.
+     * @param from First position in rows (inclusive).
+     * @param to Last position in rows (exclusive).
+     * @param featureIndex Column index of the feature.
+     */
+    public void add(Dataset data, int[] rows, int from, int to, int featureIndex) {
+        double[] column = data.getColumn(featureIndex);
+        for (int i = from; i < to; i++) {
+            add(column[rows[i]]);
+        }
+    }
+
+    /**
+     * Adds the values of another sketch, for example one filled on another
+     * thread, to this one. The other sketch is not changed.
+     *
+     * @param other A sketch with the same size parameter.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches of different sizes");
+        }
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a sketch into itself");
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    /**
+     * Returns the median of the values added. Exact while nothing has been
+     * compacted: the middle value, or the average of the two middle values.
+     *
+     * @return The median, or NaN if the sketch is empty.
+     */
+    public double median() {
+        if (sizes.length == 1 && sizes[0] == count) {
+            double[] values = Arrays.copyOf(levels[0], sizes[0]);
+            return DataUtils.median(values, 0, values.length);
+        }
+        return quantile(0.5);
+    }
+
+    /**
+     * Returns a value whose rank among the values added is close to the
+     * given fraction of the count.
+     *
+     * @param fraction The quantile, from 0 (the minimum) to 1 (the maximum).
+     * @return The estimated quantile, or NaN if the sketch is empty.
+     */
+    public double quantile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+
+        // Sort each level, then walk them in merged order, adding up weights
+        double[][] sorted = new double[levels.length][];
+        int[] next = new int[levels.length];
+        for (int h = 0; h < levels.length; h++) {
+            sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(sorted[h]);
+        }
+        double target = fraction * count;
+        long cumulative = 0;
+        while (true) {
+            int lowest = -1;
+            for (int h = 0; h < sorted.length; h++) {
+                if (next[h] < sorted[h].length
+                        && (lowest < 0 || sorted[h][next[h]] < sorted[lowest][next[lowest]])) {
+                    lowest = h;
+                }
+            }
+            if (lowest < 0) {
+                return max;
+            }
+            double value = sorted[lowest][next[lowest]++];
+            cumulative += 1L << lowest;
+            if (cumulative >= target) {
+                return value;
+            }
+        }
+    }
+
+    // Returns the number of values added, NaN not counted
+    public long count() {
+        return count;
+    }
+
+    // Returns the smallest value added, exactly
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    // Returns the largest value added, exactly
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    // Returns the size parameter
+    public int getK() {
+        return k;
+    }
+
+    // Returns the number of values the sketch holds, which stays near 3k
+    public int retained() {
+        return retained;
+    }
+
+    // Appends a value to a level, growing the level's buffer as needed
+    private void append(int level, double value) {
+        if (level >= levels.length) {
+            addLevel();
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], 2 * levels[level].length);
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    // Compacts the lowest level that is at capacity: sorts it and moves every
+    //  other value, from a random start, one level up; an odd value out stays
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacity(h)) {
+                if (h + 1 == levels.length) {
+                    addLevel();
+                }
+                double[] level = levels[h];
+                int size = sizes[h];
+                boolean odd = (size % 2) == 1;
+                double kept = odd ? level[size - 1] : 0;
+                int even = odd ? size - 1 : size;
+                Arrays.sort(level, 0, even);
+                retained -= size;
+                sizes[h] = 0;
+                for (int i = random.nextInt(2); i < even; i += 2) {
+                    append(h + 1, level[i]);
+                }
+                if (odd) {
+                    append(h, kept);
+                }
+                return;
+            }
+        }
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new double[MIN_LEVEL_CAPACITY];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        maxRetained = 0;
+        for (int h = 0; h < levels.length; h++) {
+            maxRetained += capacity(h);
+        }
+    }
+
+    // Returns the capacity of a level: k at the top, shrinking by 2/3 per level down
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+}
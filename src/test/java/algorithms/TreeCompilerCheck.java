@@ -0,0 +1,93 @@
+package algorithms;
+
+import datastructures.TreeNode;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <strong>TreeCompilerCheck</strong> - Regression check that a tree compiled
+ * by <tt>TreeCompiler</tt> predicts exactly what <tt>CompiledTree</tt> does
+ * on the same tree, for random rows with some NaN cells. It covers the two
+ * paths of the class writer that small trees never reach: a tree large
+ * enough that subtrees are split into methods of their own, and feature
+ * indices above <tt>Short.MAX_VALUE</tt>, which are loaded with
+ * <tt>ldc_w</tt> instead of <tt>sipush</tt>.<br><br>
+ * <p>
+ * Run with <tt>java algorithms.TreeCompilerCheck</tt> with the main classes
+ * on the class path; it throws on the first mismatch.<br><br>
+ * </p>
+ *
+ * @version 1.0, 2026-10-18
+ *
+ */
+
+public class TreeCompilerCheck {
+    private static final int ROWS = 20000;
+    private static final double NAN_FRACTION = 0.05;
+
+    public static void main(String[] args) {
+        // Depth 13 is about 8k leaves, far past one method's MAX_METHOD_BYTES
+        List<String> features = names(200);
+        int[] cycle = new int[features.size()];
+        for (int j = 0; j < cycle.length; j++) {
+            cycle[j] = j;
+        }
+        TreeNode deep = build(13, cycle, new SplittableRandom(1));
+        Predictor compiled = check("split into methods", deep, features);
+        int methods = compiled.getClass().getDeclaredMethods().length;
+        if (methods < 2) {
+            throw new IllegalStateException("Expected the deep tree to be split, but it has " + methods + " method(s)");
+        }
+
+        // Indices either side of each push instruction's range, and past a short
+        List<String> wide = names(40000);
+        int[] indices = {0, 5, 6, 127, 128, 32767, 32768, 39999};
+        check("wide feature indices", build(9, indices, new SplittableRandom(2)), wide);
+        System.out.println("TreeCompiler matches CompiledTree");
+    }
+
+    // Compiles the tree both ways and compares them on random rows; returns the generated predictor
+    private static Predictor check(String name, TreeNode root, List<String> features) {
+        Predictor generated = TreeCompiler.compile(root, features);
+        if (generated instanceof CompiledTree) {
+            throw new IllegalStateException(name + ": TreeCompiler fell back to CompiledTree");
+        }
+        Predictor expected = CompiledTree.compile(root, features);
+        SplittableRandom random = new SplittableRandom(3);
+        double[] row = new double[features.size()];
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = (random.nextDouble() < NAN_FRACTION) ? Double.NaN : random.nextDouble();
+            }
+            double want = expected.predict(row);
+            double got = generated.predict(row);
+            if (Double.doubleToLongBits(want) != Double.doubleToLongBits(got)) {
+                throw new IllegalStateException(name + ": row " + i + " predicts " + got + ", expected " + want);
+            }
+        }
+        System.out.println(name + ": " + ROWS + " rows agree, "
+                + generated.getClass().getDeclaredMethods().length + " method(s)");
+        return generated;
+    }
+
+    // Builds a full tree of the given depth, splitting on the given features in turn
+    private static TreeNode build(int depth, int[] indices, SplittableRandom random) {
+        if (depth == 0) {
+            return new TreeNode(random.nextDouble());
+        }
+        String feature = "f" + indices[random.nextInt(indices.length)];
+        return new TreeNode(feature, random.nextDouble(),
+                build(depth - 1, indices, random), build(depth - 1, indices, random), null);
+    }
+
+    private static List<String> names(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            names.add("f" + j);
+        }
+        return names;
+    }
+}